@@ -0,0 +1,93 @@
+package com.example.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 작업 실행 설정
+ * 이미지 생성 작업은 요청 스레드(Tomcat)가 아닌 별도의 제한된 스레드 풀에서 실행
+ *
+ * spring.threads.virtual.enabled=true (virtual 프로필, Java 21 이상)이면 풀 없이 작업마다 가상 스레드를 생성
+ * 이 경우 동시성은 스레드 수가 아닌 DownstreamBulkhead의 자원별 제한으로, 등록 가능한 작업 수는
+ * GenerationJobService의 미완료 작업 수 제한으로 결정
+ */
+@EnableScheduling
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.generation.core-pool-size:4}")
+    private int corePoolSize;
+    @Value("${app.generation.max-pool-size:8}")
+    private int maxPoolSize;
+    @Value("${app.generation.queue-capacity:500}")
+    private int queueCapacity;
+
+    /**
+     * 이미지 생성 작업 전용 Executor
+     * 플랫폼 스레드 모드에서는 제한된 스레드 풀을 사용하고, 큐가 가득 차면 TaskRejectedException을 던져 요청을 즉시 거절
+     */
+    @Bean
+    public AsyncTaskExecutor generationExecutor(Environment environment) {
+        // Spring Boot와 같은 기준 - 속성이 켜져 있고 Java 21 이상일 때만 적용
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // 가상 스레드는 풀에 담아 재사용하지 않고 작업마다 생성
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("generation-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+            executor.setTaskTerminationTimeout(60_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("generation-");
+        // 요청 스레드의 trace 컨텍스트를 작업 스레드로 전달 (생성 단계 span이 요청 trace에 연결되도록)
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 파생 이미지(썸네일, 미리보기) 생성 전용 Executor
+     * 이미지 축소/인코딩은 CPU 작업이므로 적은 수의 스레드로 제한하고, 큐가 가득 차면 생성을 건너뜀
+     */
+    @Bean
+    public ThreadPoolTaskExecutor derivativeExecutor(@Value("${app.derivatives.pool-size:2}") int poolSize,
+                                                     @Value("${app.derivatives.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("derivative-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 파생 이미지 백필 전용 Executor
+     * 오래 걸리는 백필이 derivativeExecutor 스레드를 차지하지 않도록 한 번에 하나의 데몬 스레드에서 실행
+     * (종료 시 기다리지 않으며, 중단되어도 다음 실행에서 파생 이미지가 없는 이미지부터 이어서 생성)
+     */
+    @Bean
+    public AsyncTaskExecutor derivativeBackfillExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("derivative-backfill-");
+        executor.setConcurrencyLimit(1);
+        executor.setDaemon(true);
+        return executor;
+    }
+}
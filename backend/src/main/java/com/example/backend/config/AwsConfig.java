@@ -6,10 +6,16 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.FullJitterBackoffStrategy;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.time.Duration;
+
 @Configuration
 public class AwsConfig {
 
@@ -19,6 +25,8 @@ public class AwsConfig {
     private String secretAccessKey;
     @Value("${aws.region}")
     private String region;
+    @Value("${aws.s3.upload.max-retries:3}")
+    private int uploadMaxRetries;
 
     @Bean
     public AwsCredentialsProvider credentialsProvider() {
@@ -35,6 +43,27 @@ public class AwsConfig {
             .build();
     }
 
+    /**
+     * 비동기 업로드용 S3 클라이언트
+     * 실패 시 Full Jitter 지수 백오프로 재시도
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient(AwsCredentialsProvider credentialsProvider) {
+        return S3AsyncClient.builder()
+            .credentialsProvider(credentialsProvider)
+            .region(Region.of(region))
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.builder()
+                    .numRetries(uploadMaxRetries)
+                    .backoffStrategy(FullJitterBackoffStrategy.builder()
+                        .baseDelay(Duration.ofMillis(200))
+                        .maxBackoffTime(Duration.ofSeconds(5))
+                        .build())
+                    .build())
+                .build())
+            .build();
+    }
+
     @Bean
     public S3Presigner s3Presigner(AwsCredentialsProvider credentialsProvider) {
         return S3Presigner.builder()
@@ -0,0 +1,34 @@
+package com.example.backend.config;
+
+import com.google.genai.Client;
+import com.google.genai.types.HttpOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Google Gemini Client 설정
+ * 요청마다 Client를 새로 만들지 않고 하나의 Client(내부 HTTP 커넥션 풀)를 공유
+ */
+@Configuration
+public class GeminiConfig {
+
+    @Value("${google.api.key}")
+    private String googleApiKey;
+    @Value("${google.api.timeout-millis:120000}")
+    private int timeoutMillis;
+
+    /**
+     * 공유 Gemini Client
+     * 컨텍스트 종료 시 Spring이 close()를 추론 호출하여 커넥션을 정리
+     */
+    @Bean
+    public Client geminiClient() {
+        return Client.builder()
+                .apiKey(googleApiKey)
+                .httpOptions(HttpOptions.builder()
+                        .timeout(timeoutMillis)
+                        .build())
+                .build();
+    }
+}
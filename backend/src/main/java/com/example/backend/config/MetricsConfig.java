@@ -0,0 +1,71 @@
+package com.example.backend.config;
+
+import com.example.backend.service.DownstreamBulkhead;
+import com.example.backend.service.EditSessionStore;
+import com.example.backend.service.GeminiRateLimiter;
+import com.example.backend.service.GenerationDeduplicator;
+import com.example.backend.service.GenerationJobService;
+import com.example.backend.service.ImageDiskCache;
+import com.example.backend.service.PresignedUrlCache;
+import com.example.backend.service.UserIdCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 생성 경로 상태 지표 등록
+ * 요청 단위 지표(Gemini/S3/DB 지연 시간)는 GenerationMetrics에서 기록하고,
+ * 여기서는 큐 길이, 속도 제한, 동시 호출 제한, 캐시 상태를 조회 시점에 읽는 Gauge로 등록
+ * (프로세스 내 Caffeine 캐시는 CaffeineCacheMetrics로 cache.gets/cache.size/cache.evictions 등록, cache 태그로 구분)
+ * (generationExecutor(플랫폼 스레드 모드), derivativeExecutor 스레드 풀 지표는 Spring Boot가 executor.* 로 자동 등록)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder generationMeterBinder(GenerationJobService generationJobService,
+                                             GeminiRateLimiter geminiRateLimiter,
+                                             DownstreamBulkhead downstreamBulkhead,
+                                             PresignedUrlCache presignedUrlCache,
+                                             EditSessionStore editSessionStore,
+                                             GenerationDeduplicator generationDeduplicator,
+                                             ImageDiskCache imageDiskCache,
+                                             UserIdCache userIdCache) {
+        return registry -> {
+            Gauge.builder("generation.queue.size", generationJobService, GenerationJobService::getQueueSize)
+                    .description("실행 대기 중인 생성 작업 수")
+                    .register(registry);
+
+            Gauge.builder("gemini.ratelimit.requests.per.minute", geminiRateLimiter, GeminiRateLimiter::getRequestsPerMinute)
+                    .description("현재 Gemini 분당 허용 호출 수 (429 수신 시 감소)")
+                    .register(registry);
+            Gauge.builder("gemini.ratelimit.estimated.wait", generationJobService, GenerationJobService::estimateWaitMillis)
+                    .description("새 생성 요청의 예상 대기 시간")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+
+            for (DownstreamBulkhead.Downstream downstream : DownstreamBulkhead.Downstream.values()) {
+                Gauge.builder("downstream.permits.available", downstreamBulkhead, bulkhead -> bulkhead.availablePermits(downstream))
+                        .description("외부 자원별 남은 동시 호출 허가 수")
+                        .tag("downstream", downstream.name().toLowerCase())
+                        .register(registry);
+                Gauge.builder("downstream.permits.waiting", downstreamBulkhead, bulkhead -> bulkhead.queueLength(downstream))
+                        .description("외부 자원별 허가 대기 중인 호출 수")
+                        .tag("downstream", downstream.name().toLowerCase())
+                        .register(registry);
+            }
+
+            CaffeineCacheMetrics.monitor(registry, presignedUrlCache.getCache(), "presigned.url");
+            CaffeineCacheMetrics.monitor(registry, userIdCache.getCache(), "user.id");
+            CaffeineCacheMetrics.monitor(registry, editSessionStore.getCache(), "edit.session");
+            CaffeineCacheMetrics.monitor(registry, generationDeduplicator.getRecentResults(), "generation.recent.result");
+
+            Gauge.builder("disk.cache.size", imageDiskCache, ImageDiskCache::getTotalBytes)
+                    .description("/download 디스크 캐시 사용량")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
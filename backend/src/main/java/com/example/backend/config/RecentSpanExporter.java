@@ -0,0 +1,112 @@
+package com.example.backend.config;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 최근 span을 메모리에 보관하는 OpenTelemetry exporter (외부 수집기 없이 사용)
+ * Spring Boot가 SpanExporter 빈을 BatchSpanProcessor에 자동 등록하며,
+ * 보관된 span은 /actuator/recenttraces에서 요청(trace)별 단계 지연 시간으로 조회
+ */
+@Component
+public class RecentSpanExporter implements SpanExporter {
+
+    private final int maxSpans;
+    private final Deque<SpanData> spans = new ArrayDeque<>();
+
+    public RecentSpanExporter(@Value("${app.tracing.recent-spans:5000}") int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> exported) {
+        for (SpanData span : exported) {
+            spans.addLast(span);
+            if (spans.size() > maxSpans) {
+                spans.removeFirst();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        spans.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * 최근 trace 목록 (최신순)
+     * 각 trace는 시작 시각 순으로 정렬한 span과 trace 시작 기준 오프셋/지연 시간(ms)을 포함
+     *
+     * @param limit 최대 trace 수
+     */
+    public List<Map<String, Object>> recentTraces(int limit) {
+        Map<String, List<SpanData>> byTrace;
+        synchronized (this) {
+            byTrace = spans.stream().collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()));
+        }
+
+        return byTrace.values().stream()
+                .map(this::toTrace)
+                .sorted(Comparator.comparing((Map<String, Object> trace) -> (Instant) trace.get("startedAt")).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private Map<String, Object> toTrace(List<SpanData> traceSpans) {
+        List<SpanData> sorted = new ArrayList<>(traceSpans);
+        sorted.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+
+        long startNanos = sorted.get(0).getStartEpochNanos();
+        long endNanos = sorted.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(startNanos);
+
+        List<Map<String, Object>> spanSummaries = sorted.stream()
+                .map(span -> {
+                    Map<String, Object> summary = new LinkedHashMap<>();
+                    summary.put("name", span.getName());
+                    summary.put("spanId", span.getSpanId());
+                    summary.put("parentSpanId", span.getParentSpanId());
+                    summary.put("offsetMillis", toMillis(span.getStartEpochNanos() - startNanos));
+                    summary.put("durationMillis", toMillis(span.getEndEpochNanos() - span.getStartEpochNanos()));
+                    summary.put("error", span.getStatus().getStatusCode() == StatusCode.ERROR);
+                    summary.put("attributes", span.getAttributes().asMap().entrySet().stream()
+                            .collect(Collectors.toMap(entry -> entry.getKey().getKey(), entry -> String.valueOf(entry.getValue()))));
+                    return summary;
+                })
+                .toList();
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceId", sorted.get(0).getTraceId());
+        trace.put("name", sorted.get(0).getName());
+        trace.put("startedAt", Instant.ofEpochSecond(0, startNanos));
+        trace.put("durationMillis", toMillis(endNanos - startNanos));
+        trace.put("spans", spanSummaries);
+        return trace;
+    }
+
+    private double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
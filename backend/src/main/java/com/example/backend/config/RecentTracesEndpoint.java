@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 최근 요청의 단계별 지연 시간 조회 (GET /actuator/recenttraces?limit=20)
+ * 예: /generate 요청 → generation.job → gemini.generate / s3.put / db.image.save
+ */
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "recenttraces")
+public class RecentTracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final RecentSpanExporter recentSpanExporter;
+
+    @ReadOperation
+    public List<Map<String, Object>> recentTraces(@Nullable Integer limit) {
+        return recentSpanExporter.recentTraces(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
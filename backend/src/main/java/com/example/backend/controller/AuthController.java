@@ -41,7 +41,8 @@ public class AuthController {
             String email = (String) attributes.getOrDefault("email", "");
             if (!email.isEmpty()) {
                 UserResponseDto response = userService.createUser(email);
-                log.info("사용자 생성/조회: {}", email);
+                authHelper.setCurrentUserId(response.getEmail(), response.getId());
+                log.info("사용자 생성/조회: {} (id: {})", email, response.getId());
             }
         }
 
@@ -1,15 +1,31 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.ImageListResponse;
+import com.example.backend.service.AttachmentPreprocessor;
+import com.example.backend.service.DownstreamBulkhead;
+import com.example.backend.service.GenerationBatch;
+import com.example.backend.service.GenerationJob;
+import com.example.backend.service.GenerationJobService;
+import com.example.backend.service.GenerationMetrics;
+import com.example.backend.service.ImageDiskCache;
 import com.example.backend.service.ImgService;
 import com.example.backend.util.AuthHelper;
+import com.example.backend.util.StageTracer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -17,16 +33,34 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 이미지 생성 요청을 처리하는 컨트롤러
@@ -36,112 +70,634 @@ import java.util.Map;
 @Controller
 public class ImageController {
 
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
     private final ImgService imgService;
+    private final GenerationJobService generationJobService;
+    private final AttachmentPreprocessor attachmentPreprocessor;
+    private final ImageDiskCache imageDiskCache;
     private final S3Client s3Client;
+    private final DownstreamBulkhead downstreamBulkhead;
+    private final GenerationMetrics generationMetrics;
+    private final StageTracer stageTracer;
     private final AuthHelper authHelper;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
+    @Value("${app.generation.events-timeout-seconds:600}")
+    private long eventsTimeoutSeconds;
+
     /**
      * 이미지 생성 요청 처리 (POST)
+     * 생성 작업을 큐에 등록하고 작업 ID를 즉시 반환 (202 Accepted)
+     * 결과는 GET /generate/jobs/{jobId}로 조회
      */
     @PostMapping("/generate")
-    public String generateImage(
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> generateImage(
             @RequestParam(name = "prompt") String prompt,
-            @RequestParam(name = "email", required = false, defaultValue = "") String email,
             @RequestParam(name = "attachImage", required = false) MultipartFile attachImage,
-            Model model) {
+            @RequestParam(name = "sourceS3Key", required = false) String sourceS3Key,
+            HttpSession session) {
+
+        String userEmail = currentCreatorEmail();
 
         log.info("이미지 생성 요청 - Prompt: {}, Email: {}, 첨부파일: {}",
-                prompt, email, attachImage != null && !attachImage.isEmpty() ? attachImage.getOriginalFilename() : "없음");
+                prompt, userEmail, attachImage != null && !attachImage.isEmpty() ? attachImage.getOriginalFilename()
+                        : StringUtils.hasText(sourceS3Key) ? "S3 " + sourceS3Key : "없음");
 
-        authHelper.checkLogin(model);
+        try {
+            AttachmentPreprocessor.StagedAttachment attachment = stageAttachment(attachImage, sourceS3Key);
+            // 업로드된 파일이 우선이므로 재편집 세션은 sourceS3Key만으로 첨부한 경우에만 이어감
+            String editSourceKey = attachImage != null && !attachImage.isEmpty() ? null : sourceS3Key;
+            GenerationJob job = generationJobService.submit(prompt, userEmail, currentJobOwner(session),
+                    attachment, editSourceKey);
+
+            return ResponseEntity.accepted().body(toJobResponse(job));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+
+        } catch (ImgService.QuotaExceededException e) {
+            log.warn("API 할당량 초과: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfterMillis() / 1000)))
+                    .body(Map.of(
+                            "success", false,
+                            "message", e.getMessage(),
+                            "isQuotaExceeded", true,
+                            "retryAfterMillis", e.getRetryAfterMillis()
+                    ));
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "success", false,
+                    "message", "현재 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."
+            ));
+
+        } catch (Exception e) {
+            log.error("이미지 생성 요청 처리 중 예외 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                    "success", false,
+                    "message", "오류 발생: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * 배치 이미지 생성 요청 처리 (POST)
+     * 프롬프트(prompt를 여러 번 전달하면 프롬프트별로)마다 variants장씩 생성하도록 등록하고 배치 ID를 즉시 반환 (202 Accepted)
+     * 진행 상황은 GET /generate/batch/{batchId}로 조회하며, 변형 이미지마다 images 행 저장이 끝나는 대로
+     * 해당 작업이 완료(SUCCEEDED) 처리되어 이미지가 포함됨
+     */
+    @PostMapping("/generate/batch")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> generateBatch(
+            @RequestParam(name = "prompt") List<String> prompts,
+            @RequestParam(name = "variants", defaultValue = "2") int variants,
+            @RequestParam(name = "attachImage", required = false) MultipartFile attachImage,
+            @RequestParam(name = "sourceS3Key", required = false) String sourceS3Key,
+            HttpSession session) {
+
+        String userEmail = currentCreatorEmail();
+
+        log.info("배치 이미지 생성 요청 - 프롬프트 수: {}, 변형 수: {}, Email: {}", prompts.size(), variants, userEmail);
 
         try {
-            String s3Key;
-            String userEmail = StringUtils.hasText(email) ? email : "비회원";
+            AttachmentPreprocessor.StagedAttachment attachment = stageAttachment(attachImage, sourceS3Key);
 
-            if (attachImage != null && !attachImage.isEmpty()) {
-                s3Key = imgService.generateImageWithAttachment(prompt, userEmail, attachImage);
-                log.info("첨부 이미지 기반 이미지 생성 완료");
-            } else {
-                s3Key = imgService.generateImage(prompt, userEmail);
-                log.info("텍스트 기반 이미지 생성 완료");
-            }
+            List<String> validPrompts = prompts.stream().filter(StringUtils::hasText).toList();
+            GenerationBatch batch = generationJobService.submitBatch(validPrompts, variants, userEmail,
+                    currentJobOwner(session), attachment);
 
-            if (s3Key != null) {
-                String downloadUrl = imgService.generateS3Url(s3Key);
-                String displayUrl = imgService.generateDisplayUrl(s3Key);
+            return ResponseEntity.accepted().body(toBatchResponse(batch));
 
-                model.addAttribute("success", true);
-                model.addAttribute("s3Key", s3Key);
-                model.addAttribute("imageUrl", downloadUrl != null ? downloadUrl : "/download/" + s3Key);
-                model.addAttribute("displayUrl", displayUrl != null ? displayUrl : "/download/" + s3Key);
-                model.addAttribute("message", "이미지 생성 성공!");
-                log.info("이미지 생성 성공 - S3 키: {}", s3Key);
-            } else {
-                model.addAttribute("success", false);
-                model.addAttribute("message", "이미지 생성에 실패했습니다.");
-                log.warn("이미지 생성 실패 - S3 키가 null");
-            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
 
         } catch (ImgService.QuotaExceededException e) {
             log.warn("API 할당량 초과: {}", e.getMessage());
-            model.addAttribute("success", false);
-            model.addAttribute("message", e.getMessage());
-            model.addAttribute("isQuotaExceeded", true);
-            model.addAttribute("retryAfterMillis", e.getRetryAfterMillis());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfterMillis() / 1000)))
+                    .body(Map.of(
+                            "success", false,
+                            "message", e.getMessage(),
+                            "isQuotaExceeded", true,
+                            "retryAfterMillis", e.getRetryAfterMillis()
+                    ));
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                    "success", false,
+                    "message", "현재 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요."
+            ));
 
         } catch (Exception e) {
-            log.error("이미지 생성 중 예외 발생: {}", e.getMessage(), e);
-            model.addAttribute("success", false);
-            model.addAttribute("message", "오류 발생: " + e.getMessage());
+            log.error("배치 이미지 생성 요청 처리 중 예외 발생: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                    "success", false,
+                    "message", "오류 발생: " + e.getMessage()
+            ));
         }
+    }
 
-        model.addAttribute("prompt", prompt);
-        model.addAttribute("isHomePage", true);
+    /**
+     * 생성 요청의 제작자 (로그인한 사용자 이메일, 비로그인이면 "비회원")
+     * 편집 세션과 중복 제거 키가 이 값으로 구분되므로 클라이언트가 보낸 email 파라미터는 신뢰하지 않음
+     */
+    private String currentCreatorEmail() {
+        String email = authHelper.getCurrentUserEmail();
+        return StringUtils.hasText(email) ? email : "비회원";
+    }
 
-        return "index";
+    /**
+     * 생성 작업 소유자 (로그인한 사용자 이메일, 비로그인이면 세션 ID)
+     * 비회원의 제작자는 모두 "비회원"이므로 작업 조회 권한은 세션으로 구분
+     */
+    private String currentJobOwner(HttpSession session) {
+        String email = authHelper.getCurrentUserEmail();
+        return StringUtils.hasText(email) ? email : "session:" + session.getId();
+    }
+
+    /**
+     * 생성 요청의 첨부 이미지 준비
+     * 업로드된 파일이 있으면 우선 사용하고, 없으면 sourceS3Key의 기존 이미지를 서버에서 직접 로드 (재편집)
+     * 요청 종료 후 multipart 임시 파일이 삭제되므로 작업 등록 전에 작업이 소유하는 임시 파일로 옮겨두고(힙에 올리지 않음),
+     * 축소/재인코딩(디코딩)은 요청 스레드가 아닌 생성 작업에서 수행
+     *
+     * @return 첨부 이미지 임시 파일 (첨부가 없으면 null, 작업 등록 후에는 GenerationJobService가 삭제)
+     * @throws IllegalArgumentException 등록되지 않은 sourceS3Key
+     */
+    private AttachmentPreprocessor.StagedAttachment stageAttachment(MultipartFile attachImage, String sourceS3Key)
+            throws IOException, InterruptedException {
+
+        boolean uploaded = attachImage != null && !attachImage.isEmpty();
+        if (!uploaded && !StringUtils.hasText(sourceS3Key)) {
+            return null;
+        }
+
+        try (StageTracer.Stage stage = stageTracer.start("attachment.stage", "source", uploaded ? "upload" : "s3")) {
+            if (uploaded) {
+                return attachmentPreprocessor.stage(attachImage);
+            }
+            return imgService.stageSourceAttachment(sourceS3Key)
+                    .orElseThrow(() -> new IllegalArgumentException("원본 이미지를 찾을 수 없습니다: " + sourceS3Key));
+        }
+    }
+
+    /**
+     * 배치 이미지 생성 상태 조회
+     * 다른 사용자의 배치는 없는 배치와 같이 404로 응답
+     */
+    @GetMapping("/generate/batch/{batchId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getGenerationBatch(@PathVariable String batchId, HttpSession session) {
+        return generationJobService.getBatch(batchId)
+                .filter(batch -> batch.isOwnedBy(currentJobOwner(session)))
+                .map(batch -> ResponseEntity.ok(toBatchResponse(batch)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                        "success", false,
+                        "message", "작업을 찾을 수 없습니다"
+                )));
+    }
+
+    /**
+     * 이미지 생성 작업 상태 조회
+     * 다른 사용자의 작업은 없는 작업과 같이 404로 응답
+     */
+    @GetMapping("/generate/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getGenerationJob(@PathVariable String jobId, HttpSession session) {
+        return generationJobService.getJob(jobId)
+                .filter(job -> job.isOwnedBy(currentJobOwner(session)))
+                .map(job -> ResponseEntity.ok(toJobResponse(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
+                        "success", false,
+                        "message", "작업을 찾을 수 없습니다"
+                )));
+    }
+
+    /**
+     * 이미지 생성 진행 상황 스트림 (Server-Sent Events)
+     * 단계(QUEUED → CALLING_MODEL → UPLOADING → SAVED, 텍스트 응답 시 TEXT_FALLBACK)가 바뀔 때마다
+     * 작업 상태 조회와 같은 형식의 progress 이벤트를 보내고, 작업이 끝나면 스트림 종료
+     * 다른 사용자의 작업은 없는 작업과 같이 404로 응답
+     */
+    @GetMapping(path = "/generate/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamGenerationJob(@PathVariable String jobId, HttpSession session) {
+        Optional<GenerationJob> found = generationJobService.getJob(jobId)
+                .filter(job -> job.isOwnedBy(currentJobOwner(session)));
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        GenerationJob job = found.get();
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(eventsTimeoutSeconds));
+        Consumer<GenerationJob> listener = changed -> sendJobEvent(emitter, changed);
+
+        job.addListener(listener);
+        emitter.onCompletion(() -> job.removeListener(listener));
+        // 시간 초과나 연결 오류로 끝난 스트림도 리스너를 해제하고 완료 처리 (onCompletion은 complete 이후에만 호출됨)
+        emitter.onTimeout(() -> {
+            job.removeListener(listener);
+            emitter.complete();
+        });
+        emitter.onError(e -> {
+            job.removeListener(listener);
+            emitter.complete();
+        });
+
+        // 리스너 등록 전에 바뀐 단계를 놓치지 않도록 현재 상태를 먼저 전송
+        sendJobEvent(emitter, job);
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void sendJobEvent(SseEmitter emitter, GenerationJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(toJobResponse(job), MediaType.APPLICATION_JSON));
+            if (job.isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료 또는 이미 완료된 스트림
+            log.debug("진행 이벤트 전송 실패 - Job ID: {}, 오류: {}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 작업 상태를 응답 Map으로 변환
+     */
+    private Map<String, Object> toJobResponse(GenerationJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", job.getId());
+        response.put("status", job.getStatus().name());
+        response.put("phase", job.getPhase().name());
+        response.put("prompt", job.getPrompt());
+        if (job.getPhaseMessage() != null) {
+            response.put("phaseMessage", job.getPhaseMessage());
+        }
+
+        if (job.getStatus() == GenerationJob.Status.SUCCEEDED) {
+            String s3Key = job.getS3Key();
+            String downloadUrl = imgService.generateS3Url(s3Key);
+            String displayUrl = imgService.generateDisplayUrl(s3Key);
+
+            response.put("success", true);
+            response.put("s3Key", s3Key);
+            response.put("imageUrl", downloadUrl != null ? downloadUrl : "/download/" + s3Key);
+            response.put("displayUrl", displayUrl != null ? displayUrl : "/download/" + s3Key);
+            response.put("message", job.getMessage());
+        } else if (job.getStatus() == GenerationJob.Status.FAILED) {
+            response.put("success", false);
+            response.put("message", job.getMessage());
+            response.put("isQuotaExceeded", job.isQuotaExceeded());
+            response.put("retryAfterMillis", job.getRetryAfterMillis());
+        } else {
+            response.put("queueSize", generationJobService.getQueueSize());
+        }
+
+        return response;
+    }
+
+    /**
+     * 배치 작업 상태를 응답 Map으로 변환 (각 변형 이미지는 작업 응답과 같은 형식)
+     */
+    private Map<String, Object> toBatchResponse(GenerationBatch batch) {
+        List<Map<String, Object>> jobResponses = batch.getJobs().stream()
+                .map(this::toJobResponse)
+                .toList();
+        long completedCount = batch.getJobs().stream().filter(GenerationJob::isFinished).count();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("batchId", batch.getId());
+        response.put("status", batch.getStatus().name());
+        response.put("finished", batch.isFinished());
+        response.put("completedCount", completedCount);
+        response.put("totalCount", batch.getJobs().size());
+        response.put("jobs", jobResponses);
+        if (batch.isFinished()) {
+            response.put("success", batch.getStatus() == GenerationBatch.Status.SAVED && batch.getSavedCount() > 0);
+            response.put("message", batch.getMessage());
+        }
+        return response;
     }
 
     /**
      * S3에서 파일 다운로드
+     * S3 객체를 메모리에 모두 읽지 않고 고정 크기 버퍼로 응답 스트림에 바로 전달
+     * Range(206) 요청은 S3 GetObject 조건으로 그대로 위임
+     * 전체 요청은 디스크 캐시를 먼저 확인하고(If-None-Match는 캐시된 ETag로 304 처리),
+     * 캐시에 없으면 S3에 조건을 위임하고 S3 응답을 전송하면서 캐시에 기록
      */
     @GetMapping("/download/{s3Key}")
-    public ResponseEntity<byte[]> downloadImage(@PathVariable String s3Key) {
-        try {
-            log.info("이미지 다운로드 요청 - S3 Key: {}", s3Key);
+    public void downloadImage(
+            @PathVariable String s3Key,
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        log.info("이미지 다운로드 요청 - S3 Key: {}, Range: {}", s3Key, range);
+
+        boolean cacheable = !StringUtils.hasText(range);
+        if (cacheable) {
+            Optional<ImageDiskCache.CachedFile> cachedFile = imageDiskCache.get(s3Key);
+            if (cachedFile.isPresent()) {
+                if (matchesETag(ifNoneMatch, cachedFile.get().eTag())) {
+                    sendNotModified(response, cachedFile.get().eTag());
+                    return;
+                }
+                if (serveCachedFile(s3Key, cachedFile.get(), request, response)) {
+                    return;
+                }
+            }
+        }
+
+        GetObjectRequest.Builder getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key);
+        if (StringUtils.hasText(range)) {
+            getObjectRequest.range(range);
+        }
+        if (StringUtils.hasText(ifNoneMatch)) {
+            getObjectRequest.ifNoneMatch(ifNoneMatch);
+        }
 
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .build();
+        StageTracer.Stage stage = stageTracer.start("s3.get", "s3.key", s3Key);
+        long startedAt = System.nanoTime();
+        try (ResponseInputStream<GetObjectResponse> inputStream = openObject(getObjectRequest.build())) {
+            GetObjectResponse object = inputStream.response();
 
-            try (InputStream inputStream = s3Client.getObject(getObjectRequest)) {
-                byte[] imageData = inputStream.readAllBytes();
-                log.info("이미지 다운로드 성공 - 크기: {} bytes", imageData.length);
+            response.setStatus(object.contentRange() != null ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+            response.setContentType(resolveContentType(s3Key, object.contentType()));
+            if (object.contentLength() != null) {
+                response.setContentLengthLong(object.contentLength());
+            }
+            if (object.contentRange() != null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, object.contentRange());
+            }
+            if (object.eTag() != null) {
+                response.setHeader(HttpHeaders.ETAG, object.eTag());
+            }
+            if (object.lastModified() != null) {
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, object.lastModified().toEpochMilli());
+            }
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + s3Key + "\"");
 
-                return ResponseEntity.ok()
-                        .header("Content-Type", "image/png")
-                        .header("Content-Disposition", "attachment; filename=\"" + s3Key + "\"")
-                        .body(imageData);
+            long transferred;
+            if (cacheable && imageDiskCache.isEnabled() && object.contentRange() == null) {
+                transferred = transferAndCache(s3Key, inputStream, response.getOutputStream(), object.eTag(),
+                        object.lastModified() != null ? object.lastModified().toEpochMilli() : System.currentTimeMillis());
+            } else {
+                // transferTo: 8KB 버퍼 단위로 S3 → 클라이언트 전송
+                transferred = inputStream.transferTo(response.getOutputStream());
+            }
+            generationMetrics.recordS3("get", true, System.nanoTime() - startedAt, transferred);
+            log.info("이미지 다운로드 성공 - 크기: {} bytes", transferred);
+
+        } catch (S3Exception e) {
+            generationMetrics.recordS3("get", e.statusCode() == HttpStatus.NOT_MODIFIED.value(), System.nanoTime() - startedAt, 0);
+            stage.tag("s3.status", String.valueOf(e.statusCode()));
+            if (response.isCommitted()) {
+                log.error("이미지 다운로드 전송 중 오류 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+                return;
+            }
+            if (e.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+                sendNotModified(response, ifNoneMatch);
+                return;
+            }
+            if (e.statusCode() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
             }
+            log.error("이미지 다운로드 중 오류 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+
+        } catch (RejectedExecutionException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
 
         } catch (Exception e) {
             log.error("이미지 다운로드 중 오류 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
-            return ResponseEntity.notFound().build();
+            stage.error(e);
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+            }
+        } finally {
+            stage.close();
         }
     }
 
+    /**
+     * S3 객체 스트림 열기
+     * 허가는 S3 응답 헤더를 받아 스트림을 여는 동안만 유지
+     * (본문 전송 시간은 클라이언트 속도에 달려 있으므로, 전송 중 커넥션 수는 S3Client 커넥션 풀이 제한)
+     */
+    private ResponseInputStream<GetObjectResponse> openObject(GetObjectRequest getObjectRequest) throws InterruptedException {
+        try (DownstreamBulkhead.Permit permit = downstreamBulkhead.acquire(DownstreamBulkhead.Downstream.S3)) {
+            return s3Client.getObject(getObjectRequest);
+        }
+    }
+
+    /**
+     * 304 Not Modified 응답 (S3 조건부 응답과 디스크 캐시 응답 공통)
+     */
+    private void sendNotModified(HttpServletResponse response, String eTag) {
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        response.setHeader(HttpHeaders.ETAG, eTag);
+    }
+
+    /**
+     * If-None-Match 헤더가 ETag와 일치하는지 확인 (목록, 약한 비교, * 지원)
+     */
+    private boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        String normalizedETag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*")) {
+                return true;
+            }
+            if ((trimmed.startsWith("W/") ? trimmed.substring(2) : trimmed).equals(normalizedETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 디스크 캐시 파일 전송
+     * Tomcat sendfile을 지원하면 커널 zero-copy 전송을 위임하고, 아니면 FileChannel.transferTo로 전송
+     * (캐시에서 제거된 파일은 유예 시간 뒤에 삭제되므로 sendfile이 파일을 여는 시점까지 유지됨)
+     *
+     * @return 전송 성공 여부 (false면 S3에서 다시 조회)
+     */
+    private boolean serveCachedFile(String s3Key, ImageDiskCache.CachedFile cachedFile,
+                                    HttpServletRequest request, HttpServletResponse response) {
+        Path file = cachedFile.path();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(resolveContentType(s3Key, null));
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.ETAG, cachedFile.eTag());
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, cachedFile.lastModifiedMillis());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + s3Key + "\"");
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+                request.setAttribute(SENDFILE_END_ATTRIBUTE, size);
+            } else {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, out);
+                }
+            }
+            log.info("이미지 다운로드 성공 (디스크 캐시) - 크기: {} bytes", size);
+            return true;
+
+        } catch (IOException e) {
+            log.warn("디스크 캐시 전송 실패 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+            if (!response.isCommitted()) {
+                response.reset();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * S3 스트림을 클라이언트로 전송하면서 디스크 캐시 임시 파일에도 기록
+     * 전송이 끝까지 성공한 경우에만 S3 ETag, Last-Modified와 함께 캐시에 등록
+     * 캐시 쪽 파일 오류(임시 파일 생성, 기록, 등록)는 캐시만 포기하고 클라이언트 전송은 S3 스트림으로 계속함
+     *
+     * @throws IOException S3 스트림 읽기 또는 클라이언트 전송 실패
+     */
+    private long transferAndCache(String s3Key, InputStream inputStream, OutputStream out,
+                                  String eTag, long lastModifiedMillis) throws IOException {
+        Path tempFile = null;
+        OutputStream cacheOut = null;
+        try {
+            tempFile = imageDiskCache.createTempFile();
+            cacheOut = Files.newOutputStream(tempFile);
+        } catch (IOException e) {
+            log.warn("디스크 캐시 임시 파일 생성 실패 - 캐시 없이 전송, S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+            imageDiskCache.deleteQuietly(tempFile);
+            return inputStream.transferTo(out);
+        }
+
+        boolean completed = false;
+        long transferred = 0;
+        try {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                transferred += read;
+                if (cacheOut != null) {
+                    try {
+                        cacheOut.write(buffer, 0, read);
+                    } catch (IOException e) {
+                        log.warn("디스크 캐시 기록 실패 - 캐시 없이 전송, S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+                        closeQuietly(cacheOut);
+                        cacheOut = null;
+                    }
+                }
+            }
+            completed = cacheOut != null;
+        } finally {
+            if (cacheOut != null) {
+                try {
+                    cacheOut.close();
+                } catch (IOException e) {
+                    log.warn("디스크 캐시 기록 실패 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+                    completed = false;
+                }
+            }
+            if (completed) {
+                try {
+                    imageDiskCache.commit(s3Key, tempFile, eTag, lastModifiedMillis);
+                } catch (IOException e) {
+                    log.warn("디스크 캐시 등록 실패 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+                    imageDiskCache.deleteQuietly(tempFile);
+                }
+            } else {
+                imageDiskCache.deleteQuietly(tempFile);
+            }
+        }
+        return transferred;
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // 캐시 기록을 이미 포기한 스트림
+        }
+    }
+
+    /**
+     * S3 객체의 Content-Type 사용, 없으면 파일 확장자로 추정
+     */
+    private String resolveContentType(String s3Key, String contentType) {
+        if (StringUtils.hasText(contentType)) {
+            return contentType;
+        }
+        return MediaTypeFactory.getMediaType(s3Key)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    /**
+     * 이미지 목록 페이지
+     * ?after={id}가 있으면 커서 기반(keyset) 모드로, 없으면 페이지 번호 모드로 표시
+     */
     @GetMapping("/list")
     public String showImageList(
             @PageableDefault(size = 8, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(name = "after", required = false) Long after,
             Model model) {
 
         authHelper.checkLogin(model);
         String userEmail = authHelper.getCurrentUserEmail();
 
+        if (after != null) {
+            Slice<ImageListResponse> imageSlice = imgService.getImagesAfter(after, pageable.getPageSize(), userEmail);
+
+            model.addAttribute("images", imageSlice.getContent());
+            model.addAttribute("totalCount", imgService.getTotalImageCount());
+            model.addAttribute("isKeysetMode", true);
+            model.addAttribute("hasNext", imageSlice.hasNext());
+            model.addAttribute("nextCursor", nextCursor(imageSlice));
+            model.addAttribute("hasPagination", false);
+            model.addAttribute("isListPage", true);
+
+            return "imagelist";
+        }
+
         Page<ImageListResponse> imagePage = imgService.getPagedImages(pageable, userEmail);
 
         // Spring Page 객체의 메서드 직접 활용
@@ -185,4 +741,37 @@ public class ImageController {
 
         return "imagelist";
     }
+
+    /**
+     * 무한 스크롤용 이미지 목록 조회 (JSON)
+     * after 없이 호출하면 첫 페이지 반환, 응답의 nextCursor를 다음 요청의 after로 사용
+     */
+    @GetMapping("/list/scroll")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> scrollImageList(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "8") int size) {
+
+        String userEmail = authHelper.getCurrentUserEmail();
+        Slice<ImageListResponse> imageSlice = imgService.getImagesAfter(after, Math.min(Math.max(size, 1), 50), userEmail);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("images", imageSlice.getContent());
+        response.put("hasNext", imageSlice.hasNext());
+        response.put("nextCursor", nextCursor(imageSlice));
+        response.put("totalCount", imgService.getTotalImageCount());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 다음 페이지 커서 (현재 페이지 마지막 이미지 id, 다음 페이지가 없으면 null)
+     */
+    private Long nextCursor(Slice<ImageListResponse> imageSlice) {
+        if (!imageSlice.hasNext() || imageSlice.getContent().isEmpty()) {
+            return null;
+        }
+        List<ImageListResponse> content = imageSlice.getContent();
+        return content.get(content.size() - 1).getId();
+    }
 }
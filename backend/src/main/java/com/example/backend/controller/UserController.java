@@ -1,11 +1,12 @@
 package com.example.backend.controller;
 
 import com.example.backend.dto.ImageListResponse;
-import com.example.backend.entity.Image;
 import com.example.backend.service.UserService;
 import com.example.backend.util.AuthHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -29,28 +30,36 @@ public class UserController {
 
     /**
      * 사용자 즐겨찾기 목록 조회 페이지
+     * 최근 저장한 이미지부터 커서 기반으로 표시하며, 응답의 nextCursor를 다음 요청의 after로 사용
      */
     @GetMapping("/favorites")
-    public String getFavorites(Model model) {
+    public String getFavorites(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "12") int size,
+            Model model) {
         authHelper.checkLogin(model);
-        String email = authHelper.getCurrentUserEmail();
+        Long userId = authHelper.getCurrentUserId();
 
-        List<ImageListResponse> favorites = userService.getUserFavorites(email);
-        model.addAttribute("images", favorites);
+        Slice<ImageListResponse> favorites = userService.getUserFavorites(userId, after, Math.min(Math.max(size, 1), 50));
+        model.addAttribute("images", favorites.getContent());
         model.addAttribute("pageTitle", "내 즐겨찾기");
         model.addAttribute("isFavoritesPage", true);
+        model.addAttribute("isFirstPage", after == null);
+        model.addAttribute("hasNext", favorites.hasNext());
+        model.addAttribute("nextCursor", nextCursor(favorites));
 
         return "favorites";
     }
 
     /**
-     * 이미지 즐겨찾기 저장
+     * 이미지 즐겨찾기 저장 또는 해제
+     * 요청 본문의 saved(true: 저장, false: 해제) 상태로 맞추므로 같은 요청을 여러 번 보내도 결과가 같음
+     * 사용자는 요청 본문의 email이 아니라 로그인 세션의 사용자 id로 식별
      */
     @PostMapping("/save")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> saveImage(@RequestBody Map<String, String> request) {
-        String s3Key = request.get("s3Key");
-        String email = request.get("email");
+    public ResponseEntity<Map<String, Object>> saveImage(@RequestBody Map<String, Object> request) {
+        String s3Key = request.get("s3Key") instanceof String value ? value : null;
 
         if (s3Key == null || s3Key.isEmpty()) {
             log.warn("S3 키가 없습니다");
@@ -60,26 +69,50 @@ public class UserController {
             ));
         }
 
+        if (!(request.get("saved") instanceof Boolean saved)) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "저장 상태(saved)가 필요합니다"
+            ));
+        }
+
+        Long userId = authHelper.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "로그인이 필요합니다"
+            ));
+        }
+
         try {
-            Image savedImage = userService.saveImage(s3Key, email);
+            UserService.FavoriteState state = userService.saveImage(s3Key, userId, saved);
 
-            if (savedImage == null) {
+            if (state == null) {
                 return ResponseEntity.badRequest().body(Map.of(
                         "success", false,
                         "message", "이미지를 찾을 수 없습니다"
                 ));
             }
 
-            log.info("이미지 저장 완료 - ID: {}, S3Key: {}", savedImage.getId(), s3Key);
+            log.info("즐겨찾기 {} - S3Key: {}, 저장 수: {}", state.saved() ? "저장" : "해제", s3Key, state.saveCount());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("imageId", savedImage.getId());
-            response.put("s3Key", savedImage.getS3Key());
-            response.put("message", "이미지가 저장되었습니다");
+            response.put("s3Key", s3Key);
+            response.put("saved", state.saved());
+            response.put("saveCount", state.saveCount());
+            response.put("message", state.saved() ? "이미지가 저장되었습니다" : "즐겨찾기에서 제거되었습니다");
 
             return ResponseEntity.ok(response);
 
+        } catch (DataIntegrityViolationException e) {
+            // 세션/캐시의 사용자 id에 해당하는 사용자가 없음 (외래 키 위반) - 다음 요청에서 다시 조회
+            log.warn("즐겨찾기 저장 실패 - 사용자 id가 유효하지 않음: {}", userId);
+            authHelper.invalidateCurrentUserId();
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "사용자 정보를 확인할 수 없습니다. 다시 시도해주세요"
+            ));
         } catch (Exception e) {
             log.error("이미지 저장 중 오류 발생: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().body(Map.of(
@@ -96,7 +129,6 @@ public class UserController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> removeFavorite(@RequestBody Map<String, String> request) {
         String s3Key = request.get("s3Key");
-        String email = request.get("email");
 
         if (s3Key == null || s3Key.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -105,8 +137,16 @@ public class UserController {
             ));
         }
 
+        Long userId = authHelper.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "로그인이 필요합니다"
+            ));
+        }
+
         try {
-            userService.removeFavorite(s3Key, email);
+            userService.removeFavorite(s3Key, userId);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -121,4 +161,15 @@ public class UserController {
             ));
         }
     }
+
+    /**
+     * 다음 페이지 커서 (현재 페이지 마지막 저장 id, 다음 페이지가 없으면 null)
+     */
+    private Long nextCursor(Slice<ImageListResponse> favorites) {
+        if (!favorites.hasNext() || favorites.getContent().isEmpty()) {
+            return null;
+        }
+        List<ImageListResponse> content = favorites.getContent();
+        return content.get(content.size() - 1).getSaveId();
+    }
 }
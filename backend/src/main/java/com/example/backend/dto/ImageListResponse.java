@@ -7,8 +7,12 @@ import lombok.Value;
 @Value
 public class ImageListResponse {
 
+    Long id;
+    Long saveId;          // 즐겨찾기 저장 id (즐겨찾기 목록 커서, 갤러리 목록에서는 null)
     String imageUrl;      // 다운로드용 URL (Content-Disposition: attachment)
     String displayUrl;    // 브라우저 표시용 URL (Content-Disposition: inline)
+    String thumbnailUrl;  // 목록 카드용 썸네일 URL (긴 변 400px JPEG)
+    String previewUrl;    // 고해상도 화면용 미리보기 URL (긴 변 1024px JPEG)
     String s3Key;
     String prompt;
     Long saveCount;
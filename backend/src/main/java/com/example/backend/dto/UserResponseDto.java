@@ -7,5 +7,6 @@ import lombok.Value;
 @Value
 public class UserResponseDto {
 
+    Long id;
     String email;
 }
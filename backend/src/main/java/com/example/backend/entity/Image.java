@@ -1,10 +1,13 @@
 package com.example.backend.entity;
 
+import com.example.backend.util.S3KeyHashUtils;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -13,6 +16,9 @@ import java.util.List;
 @AllArgsConstructor
 @Getter
 @Entity(name = "images")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "images")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_images_s3_key_hash", columnNames = "s3_key_hash"))
 public class Image {
     
     @Id
@@ -22,6 +28,10 @@ public class Image {
     @Lob
     private String s3Key;
 
+    @Column(name = "s3_key_hash", nullable = false, length = S3KeyHashUtils.HASH_LENGTH,
+            columnDefinition = "BINARY(" + S3KeyHashUtils.HASH_LENGTH + ")")
+    private byte[] s3KeyHash;  // s3Key 조회용 SHA-256 (유니크 인덱스, 저장 시 자동 계산)
+
     @Lob
     @Column(columnDefinition = "TEXT")
     private String prompt;
@@ -29,6 +39,16 @@ public class Image {
     @Column
     private String creatorEmail;  // 이미지 제작자 이메일
 
+    @Column(nullable = false)
+    private long saveCount;  // 즐겨찾기 저장 수 (user_save_images 행 수의 비정규화 값, 변경 시 UserService가 캐시에서 제거)
+
     @OneToMany(mappedBy = "image", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<UserSaveImages> userSaveImages;
+
+    @PrePersist
+    void fillS3KeyHash() {
+        if (s3KeyHash == null && s3Key != null) {
+            s3KeyHash = S3KeyHashUtils.hash(s3Key);
+        }
+    }
 }
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @Getter
 
 @Entity(name = "user_save_images")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_save_images_user_image", columnNames = {"user_id", "image_id"}))
 public class UserSaveImages {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
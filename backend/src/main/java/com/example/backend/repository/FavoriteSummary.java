@@ -0,0 +1,20 @@
+package com.example.backend.repository;
+
+/**
+ * 즐겨찾기 목록 조회용 Projection
+ * 저장 행과 이미지를 한 번의 JOIN 쿼리로 조회 (엔티티/컬렉션 지연 로딩 없음)
+ */
+public interface FavoriteSummary {
+
+    Long getSaveId();   // user_save_images.id (목록 커서)
+
+    Long getId();
+
+    String getS3Key();
+
+    String getPrompt();
+
+    String getCreatorEmail();
+
+    Long getSaveCount();
+}
@@ -1,10 +1,143 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.Image;
+import com.example.backend.util.S3KeyHashUtils;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ImageRepository extends JpaRepository<Image, Long> {
-    Optional<Image> findByS3Key(String s3Key);
+    Optional<Image> findByS3KeyHash(byte[] s3KeyHash);
+
+    boolean existsByS3KeyHash(byte[] s3KeyHash);
+
+    /**
+     * S3 키로 이미지 조회
+     * s3key(LONGTEXT) 전체 스캔 대신 s3_key_hash 유니크 인덱스로 조회
+     */
+    default Optional<Image> findByS3Key(String s3Key) {
+        return findByS3KeyHash(S3KeyHashUtils.hash(s3Key));
+    }
+
+    /**
+     * S3 키로 등록된 이미지인지 확인 (s3_key_hash 유니크 인덱스 사용)
+     */
+    default boolean existsByS3Key(String s3Key) {
+        return existsByS3KeyHash(S3KeyHashUtils.hash(s3Key));
+    }
+
+    /**
+     * 목록 앞쪽 페이지 쿼리 캐시 region (결과는 이미지 id 목록이고 엔티티는 2차 캐시 images region에서 읽음)
+     * Hibernate를 거친 images 변경은 자동으로 무효화되고, 새 이미지 저장 후에는 ImgService가 직접 비움
+     */
+    String LIST_CACHE_REGION = "images-list";
+
+    /**
+     * 저장 수 UPDATE의 쿼리 공간
+     * images 테이블 공간을 쓰면 즐겨찾기마다 images region 전체와 목록 쿼리 캐시가 무효화되므로 별도 이름을 쓰고,
+     * 바뀐 이미지 엔티티만 호출 측(UserService)이 커밋 후 2차 캐시에서 제거
+     */
+    String SAVE_COUNT_QUERY_SPACE = "images_save_count";
+
+    String SUMMARY_QUERY = """
+            SELECT i.id AS id, i.s3Key AS s3Key, i.prompt AS prompt, i.creatorEmail AS creatorEmail,
+                   i.saveCount AS saveCount,
+                   (SELECT COUNT(s) FROM user_save_images s WHERE s.image = i AND s.user.id = :userId) AS favoritedCount
+            FROM images i
+            """;
+
+    String SUMMARY_AFTER_QUERY = SUMMARY_QUERY + """
+            WHERE i.id < :afterId
+            ORDER BY i.id DESC
+            """;
+
+    /**
+     * 이미지 목록 페이지 조회 (저장 수, 사용자 즐겨찾기 여부 포함)
+     * 전체 개수는 호출 측에서 캐시된 값을 사용하므로 count 쿼리 없이 목록 쿼리 1회로 조회
+     *
+     * @param userId 현재 로그인한 사용자 id (null이면 즐겨찾기 여부는 항상 0)
+     */
+    @Query(SUMMARY_QUERY)
+    List<ImageSummary> findImageSummaries(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 목록 페이지 조회 (조회가 몰리는 앞쪽 페이지용 쿼리 캐시 버전)
+     * 사용자별 즐겨찾기 여부를 포함하지 않으므로 모든 사용자가 같은 캐시 항목을 공유 (즐겨찾기 여부는 호출 측에서 따로 조회)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_CACHE_REGION)
+    })
+    @Query("SELECT i FROM images i")
+    List<Image> findCachedImages(Pageable pageable);
+
+    /**
+     * 커서 기반 이미지 목록 조회 (id 내림차순, afterId보다 작은 id부터)
+     * OFFSET 없이 PK 인덱스 범위 조회만 하므로 깊은 페이지도 첫 페이지와 비용이 같음
+     * Slice로 반환하여 count 쿼리 없이 size + 1개만 조회해 다음 페이지 여부 판단
+     *
+     * @param userId 현재 로그인한 사용자 id (null 가능)
+     * @param afterId 이전 페이지의 마지막 이미지 id (첫 페이지는 Long.MAX_VALUE)
+     */
+    @Query(SUMMARY_AFTER_QUERY)
+    Slice<ImageSummary> findImageSummariesAfter(@Param("userId") Long userId,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    /**
+     * 커서 기반 이미지 목록 조회 (무한 스크롤 첫 페이지용 쿼리 캐시 버전, 즐겨찾기 여부 제외)
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LIST_CACHE_REGION)
+    })
+    @Query("SELECT i FROM images i WHERE i.id < :afterId ORDER BY i.id DESC")
+    Slice<Image> findCachedImagesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 저장 수 1 증가 (단일 UPDATE 문으로 원자적으로 처리)
+     * 2차 캐시의 해당 Image는 갱신되지 않으므로 호출 측에서 제거해야 함 (SAVE_COUNT_QUERY_SPACE)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SAVE_COUNT_QUERY_SPACE))
+    @Query(value = "UPDATE images SET save_count = save_count + 1 WHERE s3_key_hash = :s3KeyHash", nativeQuery = true)
+    int incrementSaveCount(@Param("s3KeyHash") byte[] s3KeyHash);
+
+    /**
+     * 저장 수 1 감소 (0 미만으로 내려가지 않음, 2차 캐시 처리는 incrementSaveCount와 같음)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SAVE_COUNT_QUERY_SPACE))
+    @Query(value = "UPDATE images SET save_count = save_count - 1 WHERE s3_key_hash = :s3KeyHash AND save_count > 0",
+            nativeQuery = true)
+    int decrementSaveCount(@Param("s3KeyHash") byte[] s3KeyHash);
+
+    /**
+     * 현재 저장 수 조회 (2차 캐시를 거치지 않고 DB 값을 읽음)
+     */
+    @Query("SELECT i.id AS id, i.saveCount AS saveCount FROM images i WHERE i.s3KeyHash = :s3KeyHash")
+    Optional<SaveCountSummary> findSaveCountByS3KeyHash(@Param("s3KeyHash") byte[] s3KeyHash);
+
+    /**
+     * user_save_images 기준으로 어긋난 저장 수 보정
+     * JPQL 벌크 UPDATE이므로 Hibernate가 images region과 목록 쿼리 캐시를 모두 비움 (하루 한 번 실행)
+     *
+     * @return 보정된 이미지 수
+     */
+    @Modifying
+    @Query("""
+            UPDATE images i
+            SET i.saveCount = (SELECT COUNT(s) FROM user_save_images s WHERE s.image = i)
+            WHERE i.saveCount <> (SELECT COUNT(s) FROM user_save_images s WHERE s.image = i)
+            """)
+    int reconcileSaveCounts();
 }
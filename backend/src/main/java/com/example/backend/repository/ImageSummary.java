@@ -0,0 +1,24 @@
+package com.example.backend.repository;
+
+/**
+ * 이미지 목록 조회용 Projection
+ * 저장 수와 즐겨찾기 여부를 컬렉션 로딩 없이 집계 쿼리로 조회
+ */
+public interface ImageSummary {
+
+    Long getId();
+
+    String getS3Key();
+
+    String getPrompt();
+
+    String getCreatorEmail();
+
+    Long getSaveCount();
+
+    Long getFavoritedCount();   // 현재 사용자의 저장 행 수 (0 또는 1)
+
+    default boolean isFavorited() {
+        return getFavoritedCount() != null && getFavoritedCount() > 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.repository;
+
+/**
+ * 이미지 저장 수 조회용 Projection
+ * 저장 수를 바꾼 뒤 2차 캐시에서 제거할 이미지 id를 함께 조회
+ */
+public interface SaveCountSummary {
+
+    Long getId();
+
+    Long getSaveCount();
+}
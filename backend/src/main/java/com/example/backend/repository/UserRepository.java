@@ -2,9 +2,17 @@ package com.example.backend.repository;
 
 import com.example.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    /**
+     * 이메일로 사용자 id만 조회 (users.email 유니크 인덱스 사용)
+     */
+    @Query("SELECT u.id FROM users u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
 }
@@ -1,13 +1,81 @@
 package com.example.backend.repository;
 
-import com.example.backend.entity.Image;
-import com.example.backend.entity.User;
 import com.example.backend.entity.UserSaveImages;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserSaveImagesRepository extends JpaRepository<UserSaveImages, Long> {
-    void deleteByUserAndImage(User user, Image image);
-    boolean existsByUserAndImage(User user, Image image);
+
+    /**
+     * 즐겨찾기 추가 (이미지 조회와 INSERT를 한 문장으로 처리)
+     * 이미 저장된 경우는 NOT EXISTS로 걸러 INSERT 자체를 하지 않으므로, 영향 행 수가 JDBC URL 옵션(useAffectedRows)과
+     * 관계없이 실제로 추가된 경우에만 1
+     * 동시 요청이 같은 행을 먼저 추가하면 (user_id, image_id) 유니크 인덱스 위반이나 잠금 충돌로 실패하고 (UserService가 한 번 다시 실행),
+     * 외래 키 위반 등 다른 오류도 INSERT IGNORE처럼 경고로 바꾸지 않고 그대로 예외로 전달
+     * 네이티브 쿼리는 변경 테이블(user_save_images)을 지정해야 실행할 때마다 2차 캐시(users) 전체가 비워지지 않음
+     *
+     * @return 추가된 행 수 (이미 저장됐거나 이미지가 없으면 0)
+     * @throws org.springframework.dao.DataIntegrityViolationException 사용자가 없는 경우, 동시 요청이 먼저 추가한 경우 등 제약 조건 위반
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_save_images"))
+    @Query(value = """
+            INSERT INTO user_save_images (user_id, image_id)
+            SELECT :userId, i.id FROM images i
+            WHERE i.s3_key_hash = :s3KeyHash
+              AND NOT EXISTS (SELECT 1 FROM user_save_images s WHERE s.user_id = :userId AND s.image_id = i.id)
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("s3KeyHash") byte[] s3KeyHash);
+
+    /**
+     * 즐겨찾기 삭제 (엔티티를 읽지 않고 DELETE 한 문장으로 처리)
+     *
+     * @return 삭제된 행 수 (저장되지 않았으면 0)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_save_images"))
+    @Query(value = """
+            DELETE s FROM user_save_images s
+            JOIN images i ON i.id = s.image_id
+            WHERE s.user_id = :userId AND i.s3_key_hash = :s3KeyHash
+            """, nativeQuery = true)
+    int deleteByUserIdAndS3KeyHash(@Param("userId") Long userId, @Param("s3KeyHash") byte[] s3KeyHash);
+
+    /**
+     * 주어진 이미지 중 사용자가 저장한 이미지 id 조회 (쿼리 캐시에서 읽은 목록 페이지의 즐겨찾기 여부 표시용)
+     * (user_id, image_id) 유니크 인덱스 범위 조회 1회
+     */
+    @Query("SELECT s.image.id FROM user_save_images s WHERE s.user.id = :userId AND s.image.id IN :imageIds")
+    List<Long> findSavedImageIds(@Param("userId") Long userId, @Param("imageIds") Collection<Long> imageIds);
+
+    /**
+     * 커서 기반 즐겨찾기 목록 조회 (저장 id 내림차순 - 최근 저장한 이미지부터)
+     * 저장 행과 이미지를 JOIN한 Projection 쿼리 1회로 한 페이지를 조회하고,
+     * Slice로 반환하여 count 쿼리 없이 size + 1개만 조회해 다음 페이지 여부 판단
+     *
+     * @param userId 사용자 id
+     * @param afterSaveId 이전 페이지의 마지막 저장 id (첫 페이지는 Long.MAX_VALUE)
+     */
+    @Query("""
+            SELECT s.id AS saveId, i.id AS id, i.s3Key AS s3Key, i.prompt AS prompt,
+                   i.creatorEmail AS creatorEmail, i.saveCount AS saveCount
+            FROM user_save_images s JOIN s.image i
+            WHERE s.user.id = :userId AND s.id < :afterSaveId
+            ORDER BY s.id DESC
+            """)
+    Slice<FavoriteSummary> findFavoritesAfter(@Param("userId") Long userId,
+                                              @Param("afterSaveId") Long afterSaveId,
+                                              Pageable pageable);
 }
@@ -0,0 +1,190 @@
+package com.example.backend.service;
+
+import com.example.backend.util.ImageCodecUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 첨부 이미지 전처리
+ * Gemini에 보내기 전에 긴 변을 maxEdge 이하로 줄이고 재인코딩하여 요청 크기(base64)와 모델 지연 시간을 줄임
+ *
+ * - 요청 스레드는 multipart 임시 파일(또는 재편집 원본)을 작업이 소유하는 임시 파일(temp-dir)로 옮기기만 하고,
+ *   대기 중인 작업은 첨부 이미지를 힙이 아닌 디스크에 보관
+ * - 디코딩/축소/재인코딩은 생성 작업(GenerationJobService)에서 임시 파일을 스트림으로 읽어 수행
+ * - 이미 조건을 만족하는 이미지(Gemini 지원 형식이고 긴 변이 maxEdge 이하)는 헤더만 읽고 원본을 그대로 사용
+ * - 재인코딩 결과가 원본보다 작지 않으면 원본을 사용 (지원 형식인 경우)
+ */
+@Slf4j
+@Component
+public class AttachmentPreprocessor {
+
+    // Gemini가 그대로 받을 수 있고 ImageIO로 크기를 확인할 수 있는 형식 (WebP는 imageio-webp 플러그인으로 읽음)
+    private static final Set<String> ACCEPTED_MIME_TYPES = Set.of("image/jpeg", "image/png", "image/webp");
+    private static final String TEMP_SUFFIX = ".upload";
+
+    private final Path tempDir;
+    private final int maxEdge;
+    private final float jpegQuality;
+
+    @Autowired
+    public AttachmentPreprocessor(@Value("${app.attachment.temp-dir:${java.io.tmpdir}/attachments}") String tempDir,
+                                  @Value("${app.attachment.max-edge:1536}") int maxEdge,
+                                  @Value("${app.attachment.jpeg-quality:0.9}") float jpegQuality) {
+        this(Paths.get(tempDir), maxEdge, jpegQuality);
+    }
+
+    AttachmentPreprocessor(Path tempDir, int maxEdge, float jpegQuality) {
+        this.tempDir = tempDir;
+        this.maxEdge = maxEdge;
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * 생성 작업이 소유하는 첨부 이미지 임시 파일
+     * 작업에서 prepare로 읽은 뒤 discard로 삭제
+     *
+     * @param contentType 요청에서 받은 MIME 타입 (형식을 확인할 수 없을 때 사용)
+     */
+    public record StagedAttachment(Path file, String contentType) {
+    }
+
+    /**
+     * Gemini에 전송할 첨부 이미지 데이터와 MIME 타입
+     */
+    public record PreparedAttachment(byte[] data, String mimeType) {
+    }
+
+    /**
+     * 임시 디렉터리 생성 및 이전 실행에서 남은 임시 파일 삭제 (처리되지 않고 종료된 작업)
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(tempDir);
+            try (Stream<Path> files = Files.list(tempDir)) {
+                files.filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                        .forEach(this::deleteQuietly);
+            }
+        } catch (IOException e) {
+            log.error("첨부 이미지 임시 디렉터리 초기화 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 첨부 이미지 임시 파일 경로 (파일은 아직 생성되지 않음)
+     */
+    public Path newTempFile() {
+        return tempDir.resolve(UUID.randomUUID() + TEMP_SUFFIX);
+    }
+
+    /**
+     * multipart 첨부 파일을 작업 소유 임시 파일로 옮김 (요청 종료 시 multipart 임시 파일이 삭제되므로)
+     * 힙에 올리지 않고 파일 간 복사(또는 이동)로 처리
+     */
+    public StagedAttachment stage(MultipartFile file) throws IOException {
+        Path target = newTempFile();
+        try {
+            file.transferTo(target);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(target);
+            throw e;
+        }
+        return new StagedAttachment(target, file.getContentType());
+    }
+
+    /**
+     * 첨부 이미지 임시 파일 삭제 (null이면 무시)
+     */
+    public void discard(StagedAttachment attachment) {
+        if (attachment != null) {
+            deleteQuietly(attachment.file());
+        }
+    }
+
+    /**
+     * 첨부 이미지 전처리
+     * 축소가 필요하면 임시 파일을 스트림으로 디코딩하여 투명 영역이 있을 때 PNG, 없을 때 JPEG로 재인코딩
+     * 디코딩할 수 없는 형식이면 원본을 그대로 사용
+     *
+     * @return 전처리 결과
+     * @throws IOException 임시 파일을 읽을 수 없는 경우
+     */
+    public PreparedAttachment prepare(StagedAttachment attachment) throws IOException {
+        Path file = attachment.file();
+        String contentType = attachment.contentType();
+        long originalSize = Files.size(file);
+
+        ImageCodecUtils.ImageInfo info;
+        try (InputStream in = open(file)) {
+            info = ImageCodecUtils.readInfo(in);
+        } catch (IOException | RuntimeException e) {
+            log.warn("첨부 이미지 헤더 읽기 실패 - 원본 사용: {}", e.getMessage());
+            info = null;
+        }
+        if (info == null) {
+            log.warn("첨부 이미지 전처리 불가 - 원본 사용: {}", contentType);
+            return new PreparedAttachment(Files.readAllBytes(file), contentType);
+        }
+
+        boolean accepted = ACCEPTED_MIME_TYPES.contains(info.mimeType());
+        if (accepted && info.longEdge() <= maxEdge) {
+            log.debug("첨부 이미지 원본 사용 - {}, {}x{}", info.mimeType(), info.width(), info.height());
+            return new PreparedAttachment(Files.readAllBytes(file), info.mimeType());
+        }
+
+        PreparedAttachment encoded;
+        try (InputStream in = open(file)) {
+            BufferedImage image = ImageCodecUtils.read(in, maxEdge);
+            encoded = image != null ? encode(image) : null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("첨부 이미지 전처리 실패 - 원본 사용: {}", e.getMessage());
+            encoded = null;
+        }
+        if (encoded == null) {
+            return new PreparedAttachment(Files.readAllBytes(file), info.mimeType());
+        }
+        if (accepted && encoded.data().length >= originalSize) {
+            log.debug("첨부 이미지 재인코딩 결과가 더 커서 원본 사용 - {} bytes → {} bytes",
+                    originalSize, encoded.data().length);
+            return new PreparedAttachment(Files.readAllBytes(file), info.mimeType());
+        }
+
+        log.info("첨부 이미지 전처리 - {} bytes → {} bytes", originalSize, encoded.data().length);
+        return encoded;
+    }
+
+    private PreparedAttachment encode(BufferedImage image) throws IOException {
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        BufferedImage resized = ImageCodecUtils.resize(image, maxEdge, hasAlpha);
+        return hasAlpha
+                ? new PreparedAttachment(ImageCodecUtils.encodePng(resized), "image/png")
+                : new PreparedAttachment(ImageCodecUtils.encodeJpeg(resized, jpegQuality), "image/jpeg");
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(file));
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("첨부 이미지 임시 파일 삭제 실패: {}", file);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.ImageRepository;
+import com.example.backend.repository.ImageSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파생 이미지 도입 이전에 생성된 이미지의 썸네일/미리보기 생성
+ * app.derivatives.backfill-on-startup=true일 때 애플리케이션 시작 후 한 번 실행
+ *
+ * 새 이미지의 파생 이미지 생성(derivativeExecutor)을 막지 않도록 전용 스레드(derivativeBackfillExecutor)에서 실행하고,
+ * 페이지마다 backfill-page-pause-millis만큼 쉬어 CPU와 S3 요청을 양보
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class DerivativeBackfillJob {
+
+    private static final int BATCH_SIZE = 50;
+
+    private final ImageRepository imageRepository;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ImageDiskCache imageDiskCache;
+    private final S3Client s3Client;
+    private final AsyncTaskExecutor derivativeBackfillExecutor;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    @Value("${app.derivatives.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.derivatives.backfill-page-pause-millis:500}")
+    private long pagePauseMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (backfillOnStartup) {
+            derivativeBackfillExecutor.execute(this::backfill);
+        }
+    }
+
+    /**
+     * 파생 이미지가 하나라도 없는 이미지를 id 역순으로 찾아 파생 이미지 생성
+     * (업로드 중 일부만 실패한 이미지도 다시 생성)
+     */
+    public void backfill() {
+        int created = 0;
+        Long afterId = Long.MAX_VALUE;
+        Slice<ImageSummary> slice;
+        do {
+            slice = imageRepository.findImageSummariesAfter(null, afterId, PageRequest.of(0, BATCH_SIZE));
+            for (ImageSummary image : slice) {
+                afterId = image.getId();
+                if (createIfMissing(image.getS3Key())) {
+                    created++;
+                }
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(pagePauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("파생 이미지 백필 중단 - 생성: {}개, 마지막 id: {}", created, afterId);
+                return;
+            }
+        } while (slice.hasNext());
+
+        log.info("파생 이미지 백필 완료 - 생성: {}개", created);
+    }
+
+    private boolean createIfMissing(String s3Key) {
+        boolean missing = false;
+        for (ImageDerivativeService.Derivative derivative : ImageDerivativeService.Derivative.values()) {
+            try {
+                String derivativeKey = ImageDerivativeService.derivativeKey(s3Key, derivative);
+                s3Client.headObject(HeadObjectRequest.builder().bucket(bucketName).key(derivativeKey).build());
+            } catch (S3Exception e) {
+                // HEAD 응답은 본문이 없으므로 NoSuchKeyException 대신 404 상태로 확인
+                if (e.statusCode() != 404) {
+                    log.warn("파생 이미지 확인 실패 - S3 키: {}, 오류: {}", s3Key, e.getMessage());
+                    return false;
+                }
+                missing = true;
+                break;
+            }
+        }
+        if (!missing) {
+            return false;
+        }
+
+        try {
+            imageDerivativeService.create(s3Key, loadOriginal(s3Key)).join();
+            return true;
+        } catch (Exception e) {
+            log.warn("파생 이미지 백필 실패 - S3 키: {}, 오류: {}", s3Key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 원본 조회 (디스크 캐시 우선)
+     */
+    private byte[] loadOriginal(String s3Key) throws IOException {
+        Optional<ImageDiskCache.CachedFile> cachedFile = imageDiskCache.get(s3Key);
+        if (cachedFile.isPresent()) {
+            return Files.readAllBytes(cachedFile.get().path());
+        }
+        return s3Client.getObjectAsBytes(GetObjectRequest.builder().bucket(bucketName).key(s3Key).build()).asByteArray();
+    }
+}
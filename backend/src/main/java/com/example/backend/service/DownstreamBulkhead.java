@@ -0,0 +1,89 @@
+package com.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 자원(Gemini, S3)별 동시 호출 수 제한
+ *
+ * 가상 스레드 모드에서는 스레드 수가 동시성을 제한하지 않으므로,
+ * 스레드 풀 크기 대신 자원별 Semaphore로 동시에 나가는 호출 수를 제한
+ * DB는 HikariCP 커넥션 풀(maximum-pool-size, connection-timeout)이 같은 역할을 하므로 별도로 두지 않음
+ */
+@Slf4j
+@Component
+public class DownstreamBulkhead {
+
+    public enum Downstream {
+        GEMINI, S3
+    }
+
+    private final Map<Downstream, Semaphore> semaphores = new EnumMap<>(Downstream.class);
+    private final long acquireTimeoutMillis;
+
+    @Autowired
+    public DownstreamBulkhead(@Value("${app.downstream.gemini.max-concurrency:8}") int geminiMaxConcurrency,
+                              @Value("${app.downstream.s3.max-concurrency:50}") int s3MaxConcurrency,
+                              @Value("${app.downstream.acquire-timeout-seconds:30}") long acquireTimeoutSeconds) {
+        this.semaphores.put(Downstream.GEMINI, new Semaphore(geminiMaxConcurrency, true));
+        this.semaphores.put(Downstream.S3, new Semaphore(s3MaxConcurrency, true));
+        this.acquireTimeoutMillis = TimeUnit.SECONDS.toMillis(acquireTimeoutSeconds);
+    }
+
+    /**
+     * 호출 허가 획득 (try-with-resources로 반환)
+     *
+     * @throws RejectedExecutionException 제한 시간 안에 허가를 받지 못한 경우
+     */
+    public Permit acquire(Downstream downstream) throws InterruptedException {
+        Semaphore semaphore = semaphores.get(downstream);
+        if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            log.warn("{} 동시 호출 한도 초과 - 대기 요청 수: {}", downstream, semaphore.getQueueLength());
+            throw new RejectedExecutionException(downstream + " 동시 호출 한도를 초과했습니다.");
+        }
+        return new Permit(semaphore);
+    }
+
+    /**
+     * 사용 가능한 허가 수
+     */
+    public int availablePermits(Downstream downstream) {
+        return semaphores.get(downstream).availablePermits();
+    }
+
+    /**
+     * 허가를 기다리는 호출 수 (추정치)
+     */
+    public int queueLength(Downstream downstream) {
+        return semaphores.get(downstream).getQueueLength();
+    }
+
+    /**
+     * 획득한 허가 - close 시 한 번만 반환
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private boolean released;
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                semaphore.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 사용자별 이미지 편집 세션 저장소
+ * 직전 결과 이미지를 이어서 편집할 때 이전 요청(턴)을 Gemini 대화 기록으로 함께 보내 요구사항이 유지되도록 함
+ *
+ * - 이미지는 바이트 대신 S3 키로만 기록 (전송 시 ImgService가 최근 턴의 결과 이미지를 읽어 모델 턴에 첨부)
+ * - 세션당 최대 턴 수와 바이트 수를 넘으면 오래된 턴부터 제거
+ * - 일정 시간 기록하지 않은 세션은 만료되고, 최대 세션 수를 넘으면 사용 빈도가 낮은 세션부터 제거 (Caffeine)
+ */
+@Component
+public class EditSessionStore {
+
+    private final int maxTurns;
+    private final int maxBytes;
+    private final Cache<String, Session> sessions;
+
+    @Autowired
+    public EditSessionStore(@Value("${app.edit-session.max-turns:6}") int maxTurns,
+                            @Value("${app.edit-session.max-bytes:8192}") int maxBytes,
+                            @Value("${app.edit-session.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                            @Value("${app.edit-session.max-sessions:1000}") int maxSessions) {
+        this(maxTurns, maxBytes, Duration.ofMinutes(idleTimeoutMinutes), maxSessions);
+    }
+
+    EditSessionStore(int maxTurns, int maxBytes, Duration idleTimeout, int maxSessions) {
+        this.maxTurns = maxTurns;
+        this.maxBytes = maxBytes;
+        // record가 세션을 갱신(compute)할 때마다 만료 시점이 다시 계산됨
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterWrite(idleTimeout)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 편집 요청 1회 (프롬프트와 그 결과 이미지의 S3 키)
+     */
+    public record Turn(String prompt, String s3Key) {
+
+        int sizeInBytes() {
+            return prompt.getBytes(StandardCharsets.UTF_8).length + s3Key.length();
+        }
+    }
+
+    /**
+     * 이어서 편집할 이전 턴 조회
+     * 편집 대상 이미지가 세션의 마지막 결과 이미지일 때만 기록을 반환 (다른 이미지를 첨부하면 새 세션)
+     *
+     * @param owner 사용자 이메일
+     * @param sourceS3Key 편집 대상 이미지의 S3 키 (없으면 null)
+     * @return 오래된 순서의 이전 턴 (이어서 편집하는 경우가 아니면 빈 목록)
+     */
+    public List<Turn> history(String owner, String sourceS3Key) {
+        if (!isMember(owner) || sourceS3Key == null) return List.of();
+
+        Session session = sessions.getIfPresent(owner);
+        return session != null ? session.historyFrom(sourceS3Key) : List.of();
+    }
+
+    /**
+     * 생성 결과 기록
+     * 세션의 마지막 결과 이미지를 편집한 경우 턴을 이어 붙이고, 아니면 이 턴으로 새 세션을 시작
+     *
+     * @param owner 사용자 이메일
+     * @param sourceS3Key 편집 대상 이미지의 S3 키 (없으면 null)
+     * @param turn 이번 요청의 프롬프트와 결과 S3 키
+     */
+    public void record(String owner, String sourceS3Key, Turn turn) {
+        if (!isMember(owner)) return;
+
+        // 같은 사용자의 기록은 키 단위로 원자적으로 처리
+        sessions.asMap().compute(owner, (key, session) -> {
+            if (session == null || !session.continues(sourceS3Key)) {
+                session = new Session();
+            }
+            session.add(turn);
+            return session;
+        });
+    }
+
+    public Cache<String, ?> getCache() {
+        return sessions;
+    }
+
+    /**
+     * 이메일 형식이 아닌 제작자(비회원)는 여러 사용자가 공유하므로 세션을 만들지 않음
+     */
+    private boolean isMember(String owner) {
+        return owner != null && owner.contains("@");
+    }
+
+    /**
+     * 사용자 1명의 편집 세션 (history 조회와 record 갱신이 동시에 일어날 수 있으므로 메서드 단위로 동기화)
+     */
+    private final class Session {
+        private final Deque<Turn> turns = new ArrayDeque<>();
+        private int bytes;
+
+        /**
+         * 편집 대상 이미지가 이 세션의 마지막 결과 이미지인지 여부
+         */
+        synchronized boolean continues(String sourceS3Key) {
+            return sourceS3Key != null && sourceS3Key.equals(turns.getLast().s3Key());
+        }
+
+        synchronized List<Turn> historyFrom(String sourceS3Key) {
+            return continues(sourceS3Key) ? List.copyOf(turns) : List.of();
+        }
+
+        synchronized void add(Turn turn) {
+            turns.addLast(turn);
+            bytes += turn.sizeInBytes();
+            // 마지막 턴(편집 대상 이미지)은 항상 유지
+            while (turns.size() > 1 && (turns.size() > maxTurns || bytes > maxBytes)) {
+                bytes -= turns.removeFirst().sizeInBytes();
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Gemini API 호출 전역 속도 제한 (Token Bucket)
+ *
+ * - 호출 스레드를 재우지 않음: tryAcquire는 토큰이 있으면 즉시 가져가고, 없으면 다음 토큰까지 남은 시간을 반환
+ *   대기는 GenerationJobService가 작업을 QUEUED 상태로 두고 토큰이 생기는 시각에 다시 배정하는 방식으로 처리
+ * - 대기열 뒤에 새 요청이 들어왔을 때의 예상 대기 시간이 maxWait를 넘으면 작업 등록 시점에 QuotaExceededException으로 거절
+ *   maxWait는 미완료 작업 한도(max-pending-jobs)만큼의 작업이 최대 속도로 토큰을 받는 시간이므로,
+ *   정상 속도에서는 대기열 한도에 도달하기 전에는 거절하지 않고 429로 속도가 낮아진 동안에만 먼저 거절됨
+ * - 429 응답의 "Please retry in Xs" 힌트를 받으면 해당 시각까지 토큰 지급을 멈추고 속도를 절반으로 낮춤
+ * - 성공할 때마다 속도를 조금씩 올려 설정된 최대 속도까지 회복
+ */
+@Slf4j
+@Component
+public class GeminiRateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxPermitsPerSecond;
+    private final double minPermitsPerSecond;
+    private final double burstCapacity;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+
+    private double permitsPerSecond;
+    private double availableTokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    @Autowired
+    public GeminiRateLimiter(@Value("${app.gemini.rate-limit.requests-per-minute:10}") double requestsPerMinute,
+                             @Value("${app.gemini.rate-limit.burst:2}") double burstCapacity,
+                             @Value("${app.generation.max-pending-jobs:500}") int maxQueuedRequests) {
+        this(requestsPerMinute, burstCapacity, maxWaitNanos(requestsPerMinute, maxQueuedRequests), System::nanoTime);
+    }
+
+    GeminiRateLimiter(double requestsPerMinute, double burstCapacity, long maxWaitNanos, LongSupplier nanoClock) {
+        this.maxPermitsPerSecond = requestsPerMinute / 60.0;
+        this.minPermitsPerSecond = this.maxPermitsPerSecond / 10.0;
+        this.burstCapacity = burstCapacity;
+        this.maxWaitNanos = maxWaitNanos;
+        this.nanoClock = nanoClock;
+
+        this.permitsPerSecond = this.maxPermitsPerSecond;
+        this.availableTokens = burstCapacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.blockedUntilNanos = this.lastRefillNanos;
+    }
+
+    /**
+     * 토큰이 있으면 1개를 가져감 (대기하지 않음)
+     *
+     * @return 0이면 호출 허가, 양수면 다음 토큰이 생길 때까지 남은 시간(ns, 토큰은 가져가지 않음)
+     */
+    public synchronized long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        long waitNanos = waitNanos(now, availableTokens - 1);
+        if (waitNanos > 0) {
+            return waitNanos;
+        }
+        availableTokens -= 1;
+        return 0;
+    }
+
+    /**
+     * 새 요청을 받아도 되는지 확인 (작업 등록 시점의 조기 거절)
+     *
+     * @param pendingRequests 아직 토큰을 받지 못한 대기 중 요청 수
+     * @throws ImgService.QuotaExceededException 예상 대기 시간이 최대 대기 시간을 넘는 경우 (예상 대기 시간 포함)
+     */
+    public synchronized void checkAdmission(int pendingRequests) throws ImgService.QuotaExceededException {
+        long waitNanos = estimateWaitNanos(pendingRequests);
+        if (waitNanos > maxWaitNanos) {
+            throw rejected(waitNanos);
+        }
+    }
+
+    /**
+     * 대기 중 요청 뒤에 새 요청이 들어왔을 때의 예상 대기 시간(ms)
+     */
+    public synchronized long estimateWaitMillis(int pendingRequests) {
+        return TimeUnit.NANOSECONDS.toMillis(estimateWaitNanos(pendingRequests));
+    }
+
+    /**
+     * 429 응답 수신 시 호출
+     * retryAfter 동안 토큰 지급을 중단하고 속도를 절반으로 낮춤
+     */
+    public synchronized void onQuotaExceeded(long retryAfterMillis) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        blockedUntilNanos = Math.max(blockedUntilNanos, now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis));
+        availableTokens = Math.min(availableTokens, 0);
+        permitsPerSecond = Math.max(minPermitsPerSecond, permitsPerSecond / 2);
+        log.warn("Gemini 할당량 초과 - {}ms 동안 호출 중단, 분당 허용 속도: {}", retryAfterMillis,
+                String.format("%.1f", permitsPerSecond * 60));
+    }
+
+    /**
+     * 호출 성공 시 호출 - 속도를 분당 1회씩 최대 속도까지 회복
+     */
+    public synchronized void onSuccess() {
+        if (permitsPerSecond < maxPermitsPerSecond) {
+            refill(nanoClock.getAsLong());
+            permitsPerSecond = Math.min(maxPermitsPerSecond, permitsPerSecond + 1 / 60.0);
+        }
+    }
+
+    public synchronized double getRequestsPerMinute() {
+        return permitsPerSecond * 60;
+    }
+
+    /**
+     * 최대 대기 시간 - 대기열 한도만큼의 요청이 최대 속도로 토큰을 받는 시간
+     */
+    private static long maxWaitNanos(double requestsPerMinute, int maxQueuedRequests) {
+        return (long) (maxQueuedRequests * 60.0 / requestsPerMinute * NANOS_PER_SECOND);
+    }
+
+    private long estimateWaitNanos(int pendingRequests) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        return waitNanos(now, availableTokens - pendingRequests - 1);
+    }
+
+    /**
+     * 토큰 잔량이 tokensAfter가 될 때 필요한 대기 시간
+     * 차단 중이면 차단 해제 시각 이후부터 부족한 토큰이 채워질 때까지 대기
+     */
+    private long waitNanos(long now, double tokensAfter) {
+        long blockedNanos = Math.max(0, blockedUntilNanos - now);
+        long debtNanos = tokensAfter < 0 ? (long) (-tokensAfter / permitsPerSecond * NANOS_PER_SECOND) : 0;
+        return blockedNanos + debtNanos;
+    }
+
+    /**
+     * 마지막 충전 이후 경과 시간만큼 토큰 충전 (차단 기간은 제외)
+     */
+    private void refill(long now) {
+        long from = Math.max(lastRefillNanos, blockedUntilNanos);
+        if (now > from) {
+            availableTokens = Math.min(burstCapacity, availableTokens + (now - from) / NANOS_PER_SECOND * permitsPerSecond);
+        }
+        lastRefillNanos = Math.max(lastRefillNanos, now);
+    }
+
+    private ImgService.QuotaExceededException rejected(long waitNanos) {
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        log.warn("Gemini 호출 대기열 초과 - 예상 대기: {}ms", waitMillis);
+        return new ImgService.QuotaExceededException(
+                "요청이 많아 대기열이 가득 찼습니다. 약 " + Math.max(1, waitMillis / 1000) + "초 후 다시 시도해주세요.",
+                waitMillis);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.backend.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 배치 이미지 생성 상태
+ * 변형 이미지마다 GenerationJob을 두어 저장된 이미지부터 조회할 수 있고, 모든 변형 작업이 끝나면 완료 처리
+ */
+@Getter
+public class GenerationBatch {
+
+    public enum Status {
+        RUNNING, SAVED
+    }
+
+    private final String id;
+    private final String creatorEmail;
+    @Getter(AccessLevel.NONE)
+    private final String owner;
+    private final List<GenerationJob> jobs;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile int savedCount;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    GenerationBatch(String id, String creatorEmail, String owner, List<GenerationJob> jobs) {
+        this.id = id;
+        this.creatorEmail = creatorEmail;
+        this.owner = owner;
+        this.jobs = List.copyOf(jobs);
+    }
+
+    /**
+     * 배치를 등록한 요청자인지 확인 (GenerationJob.isOwnedBy와 같은 기준)
+     */
+    public boolean isOwnedBy(String requester) {
+        return owner != null && owner.equals(requester);
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    void markSaved(int savedCount) {
+        this.savedCount = savedCount;
+        this.message = savedCount + "개 이미지 저장 완료";
+        this.finishedAt = Instant.now();
+        this.status = Status.SAVED;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 동일한 이미지 생성 요청 중복 제거
+ *
+ * - 같은 키의 요청이 진행 중이면 새로 호출하지 않고 진행 중인 결과를 함께 기다림 (single-flight)
+ * - 같은 키의 성공 결과가 window 이내에 있으면 Gemini를 다시 호출하지 않고 그 S3 키를 반환
+ */
+@Slf4j
+@Component
+public class GenerationDeduplicator {
+
+    private static final int MAX_RECENT_RESULTS = 1000;
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, String> recentResults;
+
+    /**
+     * @param dedupeWindowSeconds 성공 결과를 재사용하는 시간 (0이면 재사용하지 않음)
+     */
+    public GenerationDeduplicator(@Value("${app.generation.dedupe-window-seconds:60}") long dedupeWindowSeconds) {
+        this.recentResults = Caffeine.newBuilder()
+                .maximumSize(MAX_RECENT_RESULTS)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(dedupeWindowSeconds, 0)))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 이미지 생성 호출 (S3 키 반환, 실패 시 null)
+     */
+    @FunctionalInterface
+    public interface Generation {
+        String generate() throws ImgService.QuotaExceededException;
+    }
+
+    /**
+     * 중복 제거를 거쳐 이미지 생성
+     *
+     * @param key 요청 키 (key()로 생성)
+     * @param generation 실제 생성 호출
+     * @return 생성된 S3 키 (실패 시 null)
+     */
+    public String execute(String key, Generation generation) throws ImgService.QuotaExceededException {
+        String recent = recentResults.getIfPresent(key);
+        if (recent != null) {
+            log.info("최근 동일 요청 결과 재사용 - S3 키: {}", recent);
+            return recent;
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            log.info("동일 요청이 진행 중 - 결과 공유 대기");
+            return await(existing);
+        }
+
+        try {
+            String s3Key = generation.generate();
+            if (s3Key != null) {
+                recentResults.put(key, s3Key);
+            }
+            future.complete(s3Key);
+            return s3Key;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public Cache<String, String> getRecentResults() {
+        return recentResults;
+    }
+
+    /**
+     * 요청 키 생성 (각 값을 구분자로 이어 SHA-256)
+     * 프롬프트는 앞뒤 공백 제거 및 연속 공백을 하나로 정규화
+     *
+     * @param creatorEmail 요청자 (다른 사용자의 이미지로 기록되지 않도록 키에 포함)
+     * @param prompt 프롬프트
+     * @param systemInstruction 시스템 인스트럭션
+     * @param attachment 첨부 이미지 데이터 (없으면 null)
+     * @param history 함께 전송하는 편집 세션의 이전 턴 (같은 요청이라도 대화 기록이 다르면 결과가 다르므로 키에 포함)
+     */
+    public static String key(String creatorEmail, String prompt, String systemInstruction, byte[] attachment,
+                             List<EditSessionStore.Turn> history) {
+        MessageDigest digest = sha256();
+        String normalizedPrompt = prompt.strip().replaceAll("\\s+", " ");
+        for (String part : new String[]{creatorEmail, normalizedPrompt, systemInstruction}) {
+            update(digest, part);
+        }
+        if (attachment != null) {
+            digest.update(sha256().digest(attachment));
+        }
+        digest.update((byte) 0);
+        for (EditSessionStore.Turn turn : history) {
+            update(digest, turn.prompt());
+            update(digest, turn.s3Key());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String part) {
+        digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private String await(CompletableFuture<String> future) throws ImgService.QuotaExceededException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ImgService.QuotaExceededException quotaExceeded) {
+                throw new ImgService.QuotaExceededException(quotaExceeded.getMessage(), quotaExceeded.getRetryAfterMillis());
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 이미지 생성 작업 상태
+ * 요청 스레드에서 생성되고 generationExecutor 스레드에서 갱신됨
+ * 단계가 바뀔 때마다 등록된 리스너(SSE 등)에 통지
+ */
+@Getter
+public class GenerationJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    /**
+     * 진행 단계
+     * TEXT_FALLBACK: 모델이 이미지 대신 텍스트를 반환 (경고)
+     */
+    public enum Phase {
+        QUEUED, CALLING_MODEL, TEXT_FALLBACK, UPLOADING, SAVED, FAILED
+    }
+
+    private final String id;
+    private final String prompt;
+    private final String creatorEmail;
+    @Getter(AccessLevel.NONE)
+    private final String owner;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Phase phase = Phase.QUEUED;
+    private volatile String phaseMessage;
+    private volatile String s3Key;
+    private volatile String message;
+    private volatile boolean quotaExceeded;
+    private volatile long retryAfterMillis;
+    private volatile Instant finishedAt;
+
+    @Getter(AccessLevel.NONE)
+    private final List<Consumer<GenerationJob>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param owner 작업을 조회할 수 있는 요청자 (로그인 사용자 이메일, 비로그인이면 세션 구분값)
+     */
+    GenerationJob(String id, String prompt, String creatorEmail, String owner) {
+        this.id = id;
+        this.prompt = prompt;
+        this.creatorEmail = creatorEmail;
+        this.owner = owner;
+    }
+
+    /**
+     * 작업을 등록한 요청자인지 확인 (다른 사용자의 작업은 조회할 수 없도록)
+     */
+    public boolean isOwnedBy(String requester) {
+        return owner != null && owner.equals(requester);
+    }
+
+    public boolean isFinished() {
+        return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    /**
+     * 상태 변경 리스너 등록 (작업 스레드에서 호출됨)
+     */
+    public void addListener(Consumer<GenerationJob> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<GenerationJob> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 진행 단계 갱신 (ImgService에서 GenerationProgressListener로 호출)
+     */
+    void onPhase(Phase phase, String phaseMessage) {
+        this.phaseMessage = phaseMessage;
+        this.phase = phase;
+        notifyListeners();
+    }
+
+    void markRunning() {
+        this.status = Status.RUNNING;
+    }
+
+    void markSucceeded(String s3Key) {
+        this.s3Key = s3Key;
+        this.message = "이미지 생성 성공!";
+        this.finishedAt = Instant.now();
+        this.phase = Phase.SAVED;
+        this.status = Status.SUCCEEDED;
+        notifyListeners();
+    }
+
+    void markFailed(String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.phase = Phase.FAILED;
+        this.status = Status.FAILED;
+        notifyListeners();
+    }
+
+    void markQuotaExceeded(String message, long retryAfterMillis) {
+        this.quotaExceeded = true;
+        this.retryAfterMillis = retryAfterMillis;
+        markFailed(message);
+    }
+
+    private void notifyListeners() {
+        for (Consumer<GenerationJob> listener : listeners) {
+            listener.accept(this);
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package com.example.backend.service;
+
+import com.example.backend.util.StageTracer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 이미지 생성 작업 큐 서비스
+ * 요청 스레드는 작업을 등록하고 즉시 반환하며,
+ * 첨부 이미지 축소/재인코딩, 실제 Gemini 호출과 S3 업로드는 generationExecutor에서 수행
+ *
+ * 등록된 작업은 QUEUED 상태로 배정 대기열에 두고, GeminiRateLimiter 토큰을 받은 순서대로 generationExecutor에 넘김
+ * 토큰이 없으면 다음 토큰이 생기는 시각에 배정을 예약하므로 Executor 스레드가 토큰을 기다리며 잠들지 않음
+ * (동일 요청 공유로 Gemini를 호출하지 않는 작업도 토큰 1개를 사용)
+ *
+ * 등록 가능한 작업 수는 Executor 큐가 아닌 작업 맵의 미완료 작업 수로 제한
+ * (가상 스레드 모드에서는 Executor에 큐가 없고, 동시 호출 수는 DownstreamBulkhead가 제한)
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class GenerationJobService {
+
+    private final ImgService imgService;
+    private final AttachmentPreprocessor attachmentPreprocessor;
+    private final GeminiRateLimiter geminiRateLimiter;
+    private final DownstreamBulkhead downstreamBulkhead;
+    private final AsyncTaskExecutor generationExecutor;
+    private final TaskScheduler taskScheduler;
+    private final StageTracer stageTracer;
+
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, GenerationBatch> batches = new ConcurrentHashMap<>();
+    private final Object admissionLock = new Object();
+
+    // 토큰을 기다리는 작업 (등록 순서), dispatchLock으로 보호
+    private final Deque<QueuedTask> dispatchQueue = new ArrayDeque<>();
+    private final Object dispatchLock = new Object();
+    private ScheduledFuture<?> scheduledDispatch;
+
+    @Value("${app.generation.max-pending-jobs:500}")
+    private int maxPendingJobs;
+
+    @Value("${app.generation.job-retention-minutes:30}")
+    private long jobRetentionMinutes;
+
+    @Value("${app.generation.batch.max-variants:4}")
+    private int batchMaxVariants;
+
+    @Value("${app.generation.batch.max-size:8}")
+    private int batchMaxSize;
+
+    /**
+     * 이미지 생성 작업 등록
+     *
+     * @param prompt 이미지 생성 프롬프트
+     * @param creatorEmail 이미지 제작자 이메일
+     * @param owner 작업을 조회할 수 있는 요청자 (GenerationJob.isOwnedBy)
+     * @param attachment 첨부 이미지 임시 파일 (없으면 null, 등록에 실패해도 이 메서드가 삭제)
+     * @param sourceS3Key 첨부 이미지가 기존 이미지 재편집인 경우 그 S3 키 (없으면 null)
+     * @return 등록된 작업
+     * @throws ImgService.QuotaExceededException 429로 속도가 낮아져 예상 대기 시간이 너무 긴 경우
+     * @throws RejectedExecutionException 미완료 작업 수가 한도에 도달한 경우
+     */
+    public GenerationJob submit(String prompt, String creatorEmail, String owner,
+                                AttachmentPreprocessor.StagedAttachment attachment, String sourceS3Key) throws ImgService.QuotaExceededException {
+        boolean submitted = false;
+        try {
+            // 배정된 작업은 이미 토큰을 받았으므로, 아직 배정되지 않은 작업 수만 더해 예상 대기 시간 계산
+            geminiRateLimiter.checkAdmission(countJobs(GenerationJob.Status.QUEUED));
+
+            GenerationJob job = new GenerationJob(UUID.randomUUID().toString(), prompt, creatorEmail, owner);
+            admit(List.of(job));
+
+            enqueue(List.of(new QueuedTask(() -> run(job, () -> {
+                if (attachment == null) {
+                    return imgService.generateImage(prompt, creatorEmail, job::onPhase);
+                }
+                AttachmentPreprocessor.PreparedAttachment prepared = prepareAndDiscard(attachment);
+                return imgService.generateImageWithAttachment(prompt, creatorEmail, prepared.data(),
+                        prepared.mimeType(), sourceS3Key, job::onPhase);
+            }), () -> {
+                job.markFailed("현재 요청이 많아 처리할 수 없습니다.");
+                attachmentPreprocessor.discard(attachment);
+            })));
+            submitted = true;
+
+            log.info("생성 작업 등록 - Job ID: {}, 대기 작업 수: {}", job.getId(), getQueueSize());
+            return job;
+        } finally {
+            if (!submitted) {
+                attachmentPreprocessor.discard(attachment);
+            }
+        }
+    }
+
+    /**
+     * 배치 생성 작업 등록 - 프롬프트마다 variants장씩 생성
+     * 변형 이미지는 각각 generationExecutor에서 동시에 생성(전역 속도 제한 적용)되고,
+     * 다른 변형을 기다리지 않고 S3 업로드와 images 행 저장이 끝나는 대로 완료(SAVED) 처리
+     * 첨부 이미지 전처리는 먼저 실행된 변형 작업에서 한 번만 수행하고 나머지 변형이 결과(실패 포함)를 공유
+     *
+     * @param prompts 이미지 생성 프롬프트 목록
+     * @param variants 프롬프트당 생성할 이미지 수
+     * @param creatorEmail 이미지 제작자 이메일
+     * @param owner 배치를 조회할 수 있는 요청자 (GenerationBatch.isOwnedBy)
+     * @param attachment 첨부 이미지 임시 파일 (없으면 null, 배치가 끝나거나 등록에 실패하면 삭제)
+     * @return 등록된 배치 작업
+     * @throws IllegalArgumentException 프롬프트가 없거나 생성 수가 허용 범위를 벗어난 경우
+     * @throws ImgService.QuotaExceededException 429로 속도가 낮아져 예상 대기 시간이 너무 긴 경우
+     * @throws RejectedExecutionException 미완료 작업 수 한도 안에 배치 전체를 넣을 수 없는 경우
+     */
+    public GenerationBatch submitBatch(List<String> prompts, int variants, String creatorEmail, String owner,
+                                       AttachmentPreprocessor.StagedAttachment attachment)
+            throws ImgService.QuotaExceededException {
+        boolean submitted = false;
+        try {
+            GenerationBatch batch = doSubmitBatch(prompts, variants, creatorEmail, owner, attachment);
+            submitted = true;
+            return batch;
+        } finally {
+            if (!submitted) {
+                attachmentPreprocessor.discard(attachment);
+            }
+        }
+    }
+
+    private GenerationBatch doSubmitBatch(List<String> prompts, int variants, String creatorEmail, String owner,
+                                          AttachmentPreprocessor.StagedAttachment attachment)
+            throws ImgService.QuotaExceededException {
+        if (prompts.isEmpty()) {
+            throw new IllegalArgumentException("프롬프트를 입력해주세요.");
+        }
+        if (variants < 1 || variants > batchMaxVariants) {
+            throw new IllegalArgumentException("프롬프트당 생성 수는 1~" + batchMaxVariants + "장입니다.");
+        }
+        int size = prompts.size() * variants;
+        if (size > batchMaxSize) {
+            throw new IllegalArgumentException("한 번에 최대 " + batchMaxSize + "장까지 생성할 수 있습니다.");
+        }
+
+        geminiRateLimiter.checkAdmission(countJobs(GenerationJob.Status.QUEUED) + size - 1);
+
+        List<GenerationJob> batchJobs = new ArrayList<>();
+        for (String prompt : prompts) {
+            for (int i = 0; i < variants; i++) {
+                batchJobs.add(new GenerationJob(UUID.randomUUID().toString(), prompt, creatorEmail, owner));
+            }
+        }
+        admit(batchJobs);
+        GenerationBatch batch = new GenerationBatch(UUID.randomUUID().toString(), creatorEmail, owner, batchJobs);
+        batches.put(batch.getId(), batch);
+
+        Supplier<AttachmentPreprocessor.PreparedAttachment> prepared = memoize(
+                () -> attachment != null
+                        ? prepareAndDiscard(attachment)
+                        : new AttachmentPreprocessor.PreparedAttachment(null, null));
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<QueuedTask> tasks = new ArrayList<>();
+        for (GenerationJob job : batchJobs) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            futures.add(future);
+            tasks.add(new QueuedTask(() -> {
+                try {
+                    run(job, () -> imgService.generateVariant(job.getPrompt(), creatorEmail, prepared.get().data(),
+                            prepared.get().mimeType(), job::onPhase));
+                } finally {
+                    future.complete(null);
+                }
+            }, () -> {
+                job.markFailed("현재 요청이 많아 처리할 수 없습니다.");
+                future.complete(null);
+            }));
+        }
+        enqueue(tasks);
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((result, e) -> {
+                    // 모든 변형 작업이 거절된 경우에도 임시 파일이 남지 않도록
+                    attachmentPreprocessor.discard(attachment);
+                    finishBatch(batch);
+                });
+
+        log.info("배치 생성 작업 등록 - Batch ID: {}, 작업 수: {}, 대기 작업 수: {}", batch.getId(), size, getQueueSize());
+        return batch;
+    }
+
+    /**
+     * 배치 작업 조회
+     */
+    public Optional<GenerationBatch> getBatch(String batchId) {
+        return Optional.ofNullable(batches.get(batchId));
+    }
+
+    /**
+     * 작업 조회
+     */
+    public Optional<GenerationJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * 실행 대기 중인 작업 수
+     * 아직 시작하지 않은 작업(작업 맵)과 Gemini 동시 호출 허가를 기다리는 작업(DownstreamBulkhead)의 합
+     */
+    public int getQueueSize() {
+        return countJobs(GenerationJob.Status.QUEUED) + downstreamBulkhead.queueLength(DownstreamBulkhead.Downstream.GEMINI);
+    }
+
+    /**
+     * 새 생성 요청의 예상 Gemini 호출 대기 시간
+     */
+    public long estimateWaitMillis() {
+        return geminiRateLimiter.estimateWaitMillis(countJobs(GenerationJob.Status.QUEUED));
+    }
+
+    /**
+     * 미완료 작업 수 한도 안에서 작업을 한 번에 등록
+     *
+     * @throws RejectedExecutionException 등록하면 한도를 넘는 경우
+     */
+    private void admit(List<GenerationJob> newJobs) {
+        synchronized (admissionLock) {
+            int pending = (int) jobs.values().stream().filter(job -> !job.isFinished()).count();
+            if (pending + newJobs.size() > maxPendingJobs) {
+                log.warn("미완료 생성 작업 수 한도 초과 - 미완료: {}, 요청: {}, 한도: {}", pending, newJobs.size(), maxPendingJobs);
+                throw new RejectedExecutionException("생성 작업 큐 공간 부족");
+            }
+            newJobs.forEach(job -> jobs.put(job.getId(), job));
+        }
+    }
+
+    /**
+     * 작업을 배정 대기열에 넣고 토큰이 있는 만큼 바로 배정
+     */
+    private void enqueue(List<QueuedTask> tasks) {
+        synchronized (dispatchLock) {
+            dispatchQueue.addAll(tasks);
+        }
+        dispatch();
+    }
+
+    /**
+     * 토큰을 받은 순서대로 대기 작업을 generationExecutor에 배정
+     * 토큰이 부족하면 다음 토큰이 생기는 시각에 다시 실행되도록 예약
+     * Executor가 거절한 작업(종료 중 등)은 실행되지 않으므로 onRejected로 실패 처리
+     */
+    private void dispatch() {
+        synchronized (dispatchLock) {
+            while (!dispatchQueue.isEmpty()) {
+                long waitNanos = geminiRateLimiter.tryAcquire();
+                if (waitNanos > 0) {
+                    if (scheduledDispatch == null || scheduledDispatch.isDone()) {
+                        scheduledDispatch = taskScheduler.schedule(this::dispatchScheduled, Instant.now().plusNanos(waitNanos));
+                    }
+                    return;
+                }
+
+                QueuedTask task = dispatchQueue.poll();
+                try {
+                    generationExecutor.execute(task.task());
+                } catch (RejectedExecutionException e) {
+                    log.warn("생성 작업 실행 거절 - 대기 작업 수: {}", dispatchQueue.size());
+                    task.onRejected().run();
+                }
+            }
+        }
+    }
+
+    /**
+     * 예약된 배정 실행 - 실행 중인 자신의 예약은 아직 완료되지 않았으므로 먼저 지워 다음 예약이 가능하도록 함
+     */
+    private void dispatchScheduled() {
+        synchronized (dispatchLock) {
+            scheduledDispatch = null;
+            dispatch();
+        }
+    }
+
+    /**
+     * 첨부 이미지 임시 파일을 읽어 전처리한 뒤 삭제
+     */
+    private AttachmentPreprocessor.PreparedAttachment prepareAndDiscard(AttachmentPreprocessor.StagedAttachment attachment) {
+        try {
+            return stageTracer.trace("attachment.preprocess", () -> attachmentPreprocessor.prepare(attachment));
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부 이미지를 읽을 수 없습니다.", e);
+        } finally {
+            attachmentPreprocessor.discard(attachment);
+        }
+    }
+
+    private int countJobs(GenerationJob.Status status) {
+        return (int) jobs.values().stream().filter(job -> job.getStatus() == status).count();
+    }
+
+    /**
+     * 작업 실행
+     */
+    private void run(GenerationJob job, GenerationDeduplicator.Generation generation) {
+        job.markRunning();
+        // 큐 대기 이후의 생성 단계(Gemini 호출, S3 업로드, DB 저장)를 하나의 span 아래로 묶음
+        try (StageTracer.Stage stage = stageTracer.start("generation.job", "job.id", job.getId())) {
+            try {
+                String s3Key = generation.generate();
+
+                if (s3Key != null) {
+                    job.markSucceeded(s3Key);
+                    log.info("생성 작업 완료 - Job ID: {}, S3 키: {}", job.getId(), s3Key);
+                } else {
+                    job.markFailed("이미지 생성에 실패했습니다.");
+                    log.warn("생성 작업 실패 - Job ID: {}", job.getId());
+                }
+
+            } catch (ImgService.QuotaExceededException e) {
+                log.warn("생성 작업 할당량 초과 - Job ID: {}", job.getId());
+                job.markQuotaExceeded(e.getMessage(), e.getRetryAfterMillis());
+            } catch (Exception e) {
+                log.error("생성 작업 중 예외 발생 - Job ID: {}, 오류: {}", job.getId(), e.getMessage(), e);
+                stage.error(e);
+                job.markFailed("오류 발생: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 모든 변형 작업이 끝난 배치를 완료 처리 (각 변형의 images 행은 작업마다 이미 저장됨)
+     */
+    private void finishBatch(GenerationBatch batch) {
+        int savedCount = (int) batch.getJobs().stream()
+                .filter(job -> job.getStatus() == GenerationJob.Status.SUCCEEDED)
+                .count();
+        batch.markSaved(savedCount);
+        log.info("배치 생성 작업 완료 - Batch ID: {}, 성공: {}/{}", batch.getId(), savedCount, batch.getJobs().size());
+    }
+
+    /**
+     * 처음 호출한 스레드에서 한 번만 계산하고 결과를 공유하는 Supplier
+     * 계산이 예외로 끝나도 그 예외를 기억하여 이후 호출에서 같은 예외를 다시 던짐 (다시 계산하지 않음)
+     * 다른 스레드가 계산 중이면 끝날 때까지 기다림
+     */
+    static <T> Supplier<T> memoize(Supplier<T> supplier) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean started = new AtomicBoolean();
+        return () -> {
+            if (started.compareAndSet(false, true)) {
+                try {
+                    result.complete(supplier.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * 완료 후 보관 기간이 지난 작업 정리
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinishedJobs() {
+        Instant threshold = Instant.now().minus(Duration.ofMinutes(jobRetentionMinutes));
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+        batches.values().removeIf(batch -> batch.isFinished() && batch.getFinishedAt().isBefore(threshold));
+    }
+
+    /**
+     * 배정 대기 작업
+     *
+     * @param task generationExecutor에서 실행할 작업
+     * @param onRejected Executor가 작업을 거절한 경우 실행 (작업 실패 처리와 자원 정리)
+     */
+    private record QueuedTask(Runnable task, Runnable onRejected) {
+    }
+}
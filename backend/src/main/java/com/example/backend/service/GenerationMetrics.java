@@ -0,0 +1,106 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 이미지 생성 경로 Micrometer 지표 기록 (/actuator/prometheus로 수집)
+ *
+ * - gemini.requests: Gemini 호출 지연 시간 (model, outcome)
+ * - gemini.text.fallback: 이미지 대신 텍스트만 반환된 응답 수
+ * - s3.requests / s3.bytes: S3 put/get/presign 지연 시간과 전송 크기 (operation, outcome)
+ * - db.queries: 목록/즐겨찾기 조회 쿼리 지연 시간 (query)
+ */
+@RequiredArgsConstructor
+@Component
+public class GenerationMetrics {
+
+    /**
+     * Gemini 호출 결과
+     */
+    public enum GeminiOutcome {
+        IMAGE("image"),
+        TEXT("text"),
+        QUOTA_EXCEEDED("quota_exceeded"),
+        ERROR("error");
+
+        private final String tag;
+
+        GeminiOutcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Gemini 호출 지연 시간 기록 (속도 제한/동시 호출 제한 대기 시간 제외)
+     */
+    public void recordGemini(String model, GeminiOutcome outcome, long elapsedNanos) {
+        Timer.builder("gemini.requests")
+                .description("Gemini generateContent 호출 지연 시간")
+                .tag("model", model)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 이미지 대신 텍스트만 반환된 응답 수 (processResponse에서 감지)
+     */
+    public void recordTextFallback() {
+        Counter.builder("gemini.text.fallback")
+                .description("이미지 대신 텍스트만 반환된 Gemini 응답 수")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * S3 요청 지연 시간과 전송 크기 기록
+     *
+     * @param operation put, get, presign
+     * @param bytes 전송 크기 (0 이하면 기록하지 않음)
+     */
+    public void recordS3(String operation, boolean success, long elapsedNanos, long bytes) {
+        Timer.builder("s3.requests")
+                .description("S3 요청 지연 시간")
+                .tag("operation", operation)
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (success && bytes > 0) {
+            DistributionSummary.builder("s3.bytes")
+                    .description("S3 전송 크기")
+                    .baseUnit("bytes")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+
+    /**
+     * DB 조회 지연 시간 기록
+     *
+     * @param query 쿼리 이름 (예: images.page)
+     * @param supplier 조회 함수
+     * @return 조회 결과
+     */
+    public <T> T recordQuery(String query, Supplier<T> supplier) {
+        return Timer.builder("db.queries")
+                .description("DB 조회 지연 시간")
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(supplier);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.backend.service;
+
+/**
+ * 이미지 생성 진행 단계 통지
+ */
+@FunctionalInterface
+public interface GenerationProgressListener {
+
+    GenerationProgressListener NONE = (phase, message) -> {
+    };
+
+    /**
+     * @param phase 진행 단계
+     * @param message 단계 설명 (없으면 null)
+     */
+    void onPhase(GenerationJob.Phase phase, String message);
+}
@@ -0,0 +1,152 @@
+package com.example.backend.service;
+
+import com.example.backend.util.ImageCodecUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 목록 화면용 파생 이미지(썸네일, 미리보기) 생성
+ * 원본 업로드가 끝난 뒤 derivativeExecutor에서 축소 및 JPEG 재인코딩 후 파생 S3 키에 업로드
+ * (ImageCodecUtils - JDK ImageIO만 사용)
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ImageDerivativeService {
+
+    /**
+     * 파생 이미지 종류 (긴 변 최대 크기, JPEG 품질)
+     */
+    public enum Derivative {
+        THUMBNAIL("thumb", 400, 0.8f),
+        PREVIEW("preview", 1024, 0.85f);
+
+        private final String prefix;
+        private final int maxEdge;
+        private final float quality;
+
+        Derivative(String prefix, int maxEdge, float quality) {
+            this.prefix = prefix;
+            this.maxEdge = maxEdge;
+            this.quality = quality;
+        }
+    }
+
+    private final S3AsyncClient s3AsyncClient;
+    private final DownstreamBulkhead downstreamBulkhead;
+    private final GenerationMetrics generationMetrics;
+    private final ThreadPoolTaskExecutor derivativeExecutor;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    @Value("${app.derivatives.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 파생 이미지 S3 키 (예: derived/thumb/{s3Key}.jpg)
+     */
+    public static String derivativeKey(String s3Key, Derivative derivative) {
+        return "derived/" + derivative.prefix + "/" + s3Key + ".jpg";
+    }
+
+    /**
+     * 원본 이미지의 파생 이미지 생성 및 업로드 (비동기, 실패해도 원본 저장에는 영향 없음)
+     *
+     * @param s3Key 원본 S3 키
+     * @param original 원본 이미지 데이터
+     */
+    public void createAsync(String s3Key, byte[] original) {
+        if (!enabled) return;
+
+        try {
+            derivativeExecutor.execute(() -> create(s3Key, original).join());
+        } catch (RejectedExecutionException e) {
+            log.warn("파생 이미지 작업 큐가 가득 참 - S3 키: {}", s3Key);
+        }
+    }
+
+    /**
+     * 파생 이미지를 모두 생성하여 업로드
+     * 모든 파생 이미지를 인코딩한 뒤 업로드를 시작하고, 일부 업로드가 실패(S3 허가 대기 시간 초과 포함)해도
+     * 나머지 업로드가 끝날 때까지 기다림 (빠진 파생 이미지는 DerivativeBackfillJob이 다시 생성)
+     *
+     * @return 모든 업로드가 끝나면 완료되는 Future (실패는 로그만 남기고 정상 완료)
+     */
+    public CompletableFuture<Void> create(String s3Key, byte[] original) {
+        try {
+            BufferedImage source = ImageCodecUtils.read(new ByteArrayInputStream(original), Derivative.PREVIEW.maxEdge);
+            if (source == null) {
+                log.warn("파생 이미지 생성 불가 - 지원하지 않는 형식: {}", s3Key);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            byte[][] encoded = new byte[Derivative.values().length][];
+            for (Derivative derivative : Derivative.values()) {
+                encoded[derivative.ordinal()] = ImageCodecUtils.encodeJpeg(
+                        ImageCodecUtils.resize(source, derivative.maxEdge, false), derivative.quality);
+                log.debug("파생 이미지 생성 - {}: {} → {} bytes", derivative, original.length,
+                        encoded[derivative.ordinal()].length);
+            }
+
+            CompletableFuture<?>[] uploads = new CompletableFuture<?>[Derivative.values().length];
+            for (Derivative derivative : Derivative.values()) {
+                uploads[derivative.ordinal()] = upload(derivativeKey(s3Key, derivative), encoded[derivative.ordinal()]);
+            }
+
+            return CompletableFuture.allOf(uploads)
+                    .exceptionally(e -> {
+                        log.warn("파생 이미지 업로드 실패 - S3 키: {}, 오류: {}", s3Key, e.getMessage());
+                        return null;
+                    });
+
+        } catch (IOException | RuntimeException e) {
+            log.warn("파생 이미지 생성 실패 - S3 키: {}, 오류: {}", s3Key, e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * 파생 이미지 하나를 업로드
+     * S3 허가를 얻지 못하면 예외를 던지지 않고 실패한 Future를 반환하여 다른 파생 이미지 업로드는 계속 진행
+     */
+    private CompletableFuture<Void> upload(String key, byte[] content) {
+        DownstreamBulkhead.Permit permit;
+        try {
+            permit = downstreamBulkhead.acquire(DownstreamBulkhead.Downstream.S3);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } catch (RejectedExecutionException e) {
+            log.warn("파생 이미지 업로드 건너뜀 - S3 동시 요청 한도 초과: {}", key);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentLength((long) content.length)
+                .contentType("image/jpeg")
+                .build();
+
+        long startedAt = System.nanoTime();
+        return s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes(content))
+                .whenComplete((response, e) -> {
+                    permit.close();
+                    generationMetrics.recordS3("put", e == null, System.nanoTime() - startedAt, content.length);
+                })
+                .thenAccept(response -> log.debug("파생 이미지 저장 완료: {}", key));
+    }
+}
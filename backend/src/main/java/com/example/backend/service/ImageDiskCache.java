@@ -0,0 +1,370 @@
+package com.example.backend.service;
+
+import com.example.backend.util.S3KeyHashUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 자주 조회되는 S3 객체를 로컬 디스크에 보관하는 캐시
+ * 파일명은 s3Key의 SHA-256 값이며, 전체 크기가 maxBytes를 넘으면 가장 오래 사용하지 않은 파일부터 제거 (LRU)
+ *
+ * - 파일마다 S3 ETag와 Last-Modified를 메타 파일({파일명}.meta)에 함께 저장하여 캐시 응답에서도 조건부 요청(304)을 처리
+ * - 제거된 파일은 인덱스에서만 즉시 빼고, 실제 삭제는 evict-grace-seconds 뒤로 미룸
+ *   (Tomcat sendfile은 컨트롤러가 반환된 뒤에 파일 경로로 전송하므로 전송 중인 파일이 삭제되지 않도록)
+ * - entries 락은 인덱스(entries, pendingDeletes, totalBytes) 갱신만 보호하고, 파일 기록/이동/삭제는 락 밖에서 수행
+ *   (삭제와 재등록이 겹쳐 파일이 없는 항목이 생기면 get에서 인덱스를 정리)
+ */
+@Slf4j
+@Component
+public class ImageDiskCache {
+
+    private static final String TEMP_PREFIX = "tmp-";
+    private static final String META_SUFFIX = ".meta";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final boolean enabled;
+    private final Duration evictGrace;
+    private final LongSupplier nanoClock;
+
+    // 파일명 → 캐시 항목 (accessOrder=true로 LRU 순서 유지)
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 제거된 파일명 → 삭제 예정 시각 (nanoTime)
+    private final Map<String, Long> pendingDeletes = new LinkedHashMap<>();
+    private long totalBytes;
+
+    @Autowired
+    public ImageDiskCache(@Value("${app.disk-cache.dir:${java.io.tmpdir}/image-cache}") String directory,
+                          @Value("${app.disk-cache.max-bytes:536870912}") long maxBytes,
+                          @Value("${app.disk-cache.enabled:true}") boolean enabled,
+                          @Value("${app.disk-cache.evict-grace-seconds:60}") long evictGraceSeconds) {
+        this(Paths.get(directory), maxBytes, enabled, Duration.ofSeconds(evictGraceSeconds), System::nanoTime);
+    }
+
+    ImageDiskCache(Path directory, long maxBytes, boolean enabled, Duration evictGrace, LongSupplier nanoClock) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.enabled = enabled;
+        this.evictGrace = evictGrace;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 캐시된 파일과 S3 메타데이터
+     *
+     * @param eTag S3 ETag (따옴표 포함)
+     * @param lastModifiedMillis S3 Last-Modified (epoch millis)
+     */
+    public record CachedFile(Path path, long size, String eTag, long lastModifiedMillis) {
+    }
+
+    private record Entry(long size, String eTag, long lastModifiedMillis) {
+    }
+
+    /**
+     * 캐시 디렉터리 생성 및 기존 파일을 수정 시각 순서로 인덱스에 등록
+     * 메타 파일이 없는 파일(이전 버전 캐시, 기록 중 종료)은 삭제
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) return;
+
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(directory)) {
+                files = stream.filter(Files::isRegularFile)
+                        .filter(file -> !file.getFileName().toString().endsWith(META_SUFFIX))
+                        .sorted(Comparator.comparingLong(this::lastModifiedMillis))
+                        .toList();
+            }
+
+            List<String> deleteNow = new ArrayList<>();
+            synchronized (entries) {
+                for (Path file : files) {
+                    String fileName = file.getFileName().toString();
+                    Optional<Entry> entry = fileName.startsWith(TEMP_PREFIX) ? Optional.empty() : readEntry(file);
+                    if (entry.isEmpty()) {
+                        deleteNow.add(fileName);
+                        continue;
+                    }
+                    entries.put(fileName, entry.get());
+                    totalBytes += entry.get().size();
+                }
+                evictIfNeeded(deleteNow);
+            }
+            deleteNow.forEach(this::deleteFiles);
+            deleteOrphanMetaFiles();
+            log.info("디스크 캐시 초기화 - 경로: {}, 파일 수: {}, 크기: {} bytes", directory, entries.size(), totalBytes);
+
+        } catch (IOException e) {
+            log.error("디스크 캐시 초기화 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 캐시된 파일 조회
+     *
+     * @param s3Key S3 객체 키
+     * @return 캐시 파일과 메타데이터 (없으면 empty)
+     */
+    public Optional<CachedFile> get(String s3Key) {
+        if (!enabled) return Optional.empty();
+
+        String fileName = fileName(s3Key);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(fileName);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        Path file = directory.resolve(fileName);
+        if (!Files.exists(file)) {
+            // 그 사이 다시 등록된 항목은 지우지 않도록 같은 항목일 때만 제거
+            synchronized (entries) {
+                if (entries.remove(fileName, entry)) {
+                    totalBytes -= entry.size();
+                }
+            }
+            return Optional.empty();
+        }
+        return Optional.of(new CachedFile(file, entry.size(), entry.eTag(), entry.lastModifiedMillis()));
+    }
+
+    /**
+     * 메모리에 있는 데이터를 캐시에 저장 (업로드 직후 사용)
+     */
+    public void put(String s3Key, byte[] content, String eTag, long lastModifiedMillis) {
+        if (!enabled || content == null || content.length > maxBytes) return;
+
+        Path tempFile = null;
+        try {
+            tempFile = createTempFile();
+            Files.write(tempFile, content);
+            commit(s3Key, tempFile, eTag, lastModifiedMillis);
+        } catch (IOException e) {
+            log.warn("디스크 캐시 저장 실패 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * 디스크에 받아둔 파일을 복사하여 캐시에 저장 (원본 파일은 그대로 둠)
+     */
+    public void put(String s3Key, Path source, String eTag, long lastModifiedMillis) {
+        if (!enabled) return;
+
+        Path tempFile = null;
+        try {
+            if (Files.size(source) > maxBytes) return;
+            tempFile = createTempFile();
+            Files.copy(source, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            commit(s3Key, tempFile, eTag, lastModifiedMillis);
+        } catch (IOException e) {
+            log.warn("디스크 캐시 저장 실패 - S3 Key: {}, 오류: {}", s3Key, e.getMessage());
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * 캐시에 쓸 임시 파일 생성 (완성 후 commit으로 등록)
+     */
+    public Path createTempFile() throws IOException {
+        return Files.createTempFile(directory, TEMP_PREFIX, null);
+    }
+
+    /**
+     * 완성된 임시 파일을 캐시 파일로 이동하여 등록
+     * ETag가 없으면 조건부 요청을 처리할 수 없으므로 등록하지 않음
+     */
+    public void commit(String s3Key, Path tempFile, String eTag, long lastModifiedMillis) throws IOException {
+        if (!enabled || eTag == null) {
+            deleteQuietly(tempFile);
+            return;
+        }
+
+        String fileName = fileName(s3Key);
+        long size = Files.size(tempFile);
+        if (size > maxBytes) {
+            deleteQuietly(tempFile);
+            return;
+        }
+
+        // 같은 파일이 삭제 예정이면 취소 (다시 등록되는 파일이 지워지지 않도록)
+        synchronized (entries) {
+            pendingDeletes.remove(fileName);
+        }
+
+        Files.writeString(directory.resolve(fileName + META_SUFFIX), eTag + "\n" + lastModifiedMillis,
+                StandardCharsets.UTF_8);
+        Files.move(tempFile, directory.resolve(fileName),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        List<String> deleteNow = new ArrayList<>();
+        synchronized (entries) {
+            pendingDeletes.remove(fileName);
+            Entry previous = entries.put(fileName, new Entry(size, eTag, lastModifiedMillis));
+            totalBytes += size - (previous != null ? previous.size() : 0);
+            evictIfNeeded(deleteNow);
+        }
+        deleteNow.forEach(this::deleteFiles);
+        purgeEvicted();
+    }
+
+    /**
+     * 캐시 파일 제거 (원본 S3 객체를 삭제한 경우)
+     */
+    public void remove(String s3Key) {
+        if (!enabled) return;
+
+        String fileName = fileName(s3Key);
+        List<String> deleteNow = new ArrayList<>();
+        synchronized (entries) {
+            Entry entry = entries.remove(fileName);
+            if (entry != null) {
+                totalBytes -= entry.size();
+                scheduleDelete(fileName, deleteNow);
+            }
+        }
+        deleteNow.forEach(this::deleteFiles);
+    }
+
+    /**
+     * 삭제 예정 시각이 지난 제거 파일 삭제
+     */
+    @Scheduled(fixedDelayString = "${app.disk-cache.purge-interval-millis:10000}")
+    public void purgeEvicted() {
+        if (!enabled) return;
+
+        long now = nanoClock.getAsLong();
+        List<String> expired = new ArrayList<>();
+        synchronized (entries) {
+            Iterator<Map.Entry<String, Long>> iterator = pendingDeletes.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Long> pending = iterator.next();
+                if (now - pending.getValue() < 0) {
+                    break;
+                }
+                iterator.remove();
+                if (!entries.containsKey(pending.getKey())) {
+                    expired.add(pending.getKey());
+                }
+            }
+        }
+        expired.forEach(this::deleteFiles);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getTotalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    public void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("디스크 캐시 파일 삭제 실패: {}", file);
+        }
+    }
+
+    /**
+     * 최대 크기를 넘는 동안 가장 오래 사용하지 않은 파일을 인덱스에서 제거하고 삭제 예약 (entries 락 보유 상태에서 호출)
+     *
+     * @param deleteNow 락을 놓은 뒤 바로 삭제할 파일명 (유예 시간이 0인 경우)
+     */
+    private void evictIfNeeded(List<String> deleteNow) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            totalBytes -= eldest.getValue().size();
+            iterator.remove();
+            scheduleDelete(eldest.getKey(), deleteNow);
+            log.debug("디스크 캐시 제거: {}", eldest.getKey());
+        }
+    }
+
+    /**
+     * 유예 시간 뒤 삭제 예약 (entries 락 보유 상태에서 호출, 유예 시간이 0이면 deleteNow에 추가)
+     */
+    private void scheduleDelete(String fileName, List<String> deleteNow) {
+        if (evictGrace.isZero()) {
+            deleteNow.add(fileName);
+            return;
+        }
+        pendingDeletes.remove(fileName);
+        pendingDeletes.put(fileName, nanoClock.getAsLong() + evictGrace.toNanos());
+    }
+
+    private void deleteFiles(String fileName) {
+        deleteQuietly(directory.resolve(fileName));
+        deleteQuietly(directory.resolve(fileName + META_SUFFIX));
+    }
+
+    private Optional<Entry> readEntry(Path file) {
+        try {
+            Path metaFile = directory.resolve(file.getFileName() + META_SUFFIX);
+            if (!Files.exists(metaFile)) {
+                return Optional.empty();
+            }
+            String[] meta = Files.readString(metaFile, StandardCharsets.UTF_8).split("\n", 2);
+            return Optional.of(new Entry(Files.size(file), meta[0], Long.parseLong(meta[1].trim())));
+        } catch (IOException | RuntimeException e) {
+            log.warn("디스크 캐시 메타 파일 읽기 실패: {}", file);
+            return Optional.empty();
+        }
+    }
+
+    private void deleteOrphanMetaFiles() throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(file -> file.getFileName().toString().endsWith(META_SUFFIX))
+                    .filter(file -> !Files.exists(directory.resolve(
+                            file.getFileName().toString().replace(META_SUFFIX, ""))))
+                    .forEach(this::deleteQuietly);
+        }
+    }
+
+    private long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * s3Key를 파일명으로 변환 (images.s3_key_hash와 같은 SHA-256 값의 hex)
+     */
+    static String fileName(String s3Key) {
+        return HexFormat.of().formatHex(S3KeyHashUtils.hash(s3Key));
+    }
+}
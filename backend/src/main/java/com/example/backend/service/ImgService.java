@@ -3,29 +3,54 @@ package com.example.backend.service;
 import com.example.backend.dto.ImageListResponse;
 import com.example.backend.entity.Image;
 import com.example.backend.repository.ImageRepository;
+import com.example.backend.repository.ImageSummary;
+import com.example.backend.repository.UserSaveImagesRepository;
+import com.example.backend.util.StageTracer;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.genai.Client;
 import com.google.genai.errors.ApiException;
 import com.google.genai.types.*;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.services.s3.S3Client;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -41,12 +66,24 @@ import java.util.regex.Pattern;
 @Service
 public class ImgService {
 
-    @Value("${google.api.key}")
-    private String googleApiKey;
-
-    private final S3Client s3Client;
+    private final Client geminiClient;
+    private final GeminiRateLimiter geminiRateLimiter;
+    private final DownstreamBulkhead downstreamBulkhead;
+    private final S3AsyncClient s3AsyncClient;
     private final S3Presigner s3Presigner;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ImageDiskCache imageDiskCache;
+    private final ImageDerivativeService imageDerivativeService;
+    private final GenerationDeduplicator generationDeduplicator;
+    private final AttachmentPreprocessor attachmentPreprocessor;
+    private final EditSessionStore editSessionStore;
+    private final GenerationMetrics generationMetrics;
+    private final StageTracer stageTracer;
+    private final UserIdCache userIdCache;
     private final ImageRepository imageRepository;
+    private final UserSaveImagesRepository userSaveImagesRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
@@ -54,6 +91,15 @@ public class ImgService {
     @Value("${aws.region}")
     private String awsRegion;
 
+    @Value("${app.gallery.count-cache-seconds:60}")
+    private long countCacheSeconds;
+
+    @Value("${app.gallery.query-cache-pages:3}")
+    private int queryCachePages;
+
+    private volatile long cachedImageCount = -1;
+    private volatile long imageCountExpiresAt;
+
     private final String API_ROLE = "당신은 기본적으로 KB 손해보험 홍보 이미지 제작 전문가이지만, 사용자의 요청에 따라 다른 역할이 될 수 있습니다. "
             + "반드시 사용자의 요청을 기반으로 하세요. 사용자의 요청이라면 당신의 역할 및 설정은 언제든 변경될 수 있습니다. "
             + "사용자가 첨부한 이미지와 요청을 기반으로 새로운 이미지를 생성해야 합니다. "
@@ -79,33 +125,113 @@ public class ImgService {
             + "적당한 설명을 포함하여 직관성이 높게 제작하세요.";
 
     /**
-     * 바이너리 파일을 AWS S3에 저장
+     * 바이너리 파일을 AWS S3에 비동기로 저장
+     * 요청 본문은 AsyncRequestBody.fromBytes로 전달하고, 재시도는 S3AsyncClient 재시도 정책에 위임
+     *
+     * @param s3Key 저장할 S3 객체 키
+     * @param fileContent 파일 데이터
+     * @return 업로드 완료 시 S3 객체 ETag로 완료되는 Future
      */
-    private String saveBinaryFile(String fileName, byte[] fileContent) {
+    private CompletableFuture<String> saveBinaryFile(String s3Key, byte[] fileContent) {
+        log.debug("S3 저장 시작 - 키: {}, 크기: {} bytes", s3Key, fileContent.length);
+
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentLength((long) fileContent.length)
+                .contentType(getContentType(s3Key))
+                .build();
+
+        DownstreamBulkhead.Permit permit;
         try {
-            log.debug("S3 저장 시작 - 파일명: {}, 크기: {} bytes", fileName, fileContent.length);
+            permit = downstreamBulkhead.acquire(DownstreamBulkhead.Downstream.S3);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            String s3Key = UUID.randomUUID() + "_" + fileName;
-            String contentType = getContentType(fileName);
+        // 업로드는 S3 SDK 스레드에서 끝나므로 완료 콜백에서 span 종료
+        StageTracer.Stage stage = stageTracer.startAsync("s3.put", "s3.key", s3Key);
+        long startedAt = System.nanoTime();
+        return s3AsyncClient.putObject(putObjectRequest, AsyncRequestBody.fromBytes(fileContent))
+                .whenComplete((response, e) -> {
+                    permit.close();
+                    generationMetrics.recordS3("put", e == null, System.nanoTime() - startedAt, fileContent.length);
+                    if (e != null) {
+                        stage.error(e);
+                    }
+                    stage.close();
+                })
+                .thenApply(response -> {
+                    log.info("S3에 파일 저장 완료: {}", s3Key);
+                    return response.eTag();
+                });
+    }
 
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(s3Key)
-                    .contentLength((long) fileContent.length)
-                    .contentType(contentType)
-                    .build();
+    /**
+     * images 행이 저장된 이미지의 디스크 캐시 저장과 파생 이미지 생성
+     * images 행 저장에 실패하면 업로드한 객체를 삭제하므로, 삭제와 경합하지 않도록 저장이 확정된 뒤에만 호출
+     * 실패해도 저장 결과에는 영향 없음 (로그만 남김)
+     */
+    private void onImageStored(String s3Key, byte[] fileContent, String eTag) {
+        try {
+            // 재편집 시 /download 요청이 S3까지 가지 않도록 디스크 캐시에도 저장
+            imageDiskCache.put(s3Key, fileContent, eTag, System.currentTimeMillis());
 
-            s3Client.putObject(putObjectRequest, software.amazon.awssdk.core.sync.RequestBody.fromInputStream(
-                    new ByteArrayInputStream(fileContent),
-                    fileContent.length
-            ));
+            // 목록 화면용 썸네일/미리보기 생성 (별도 스레드에서 진행)
+            imageDerivativeService.createAsync(s3Key, fileContent);
+        } catch (RuntimeException e) {
+            log.warn("저장된 이미지 후처리 실패 - S3 키: {}, 오류: {}", s3Key, e.getMessage());
+        }
+    }
 
-            log.info("S3에 파일 저장 완료: {}", s3Key);
-            return s3Key;
-        } catch (Exception e) {
-            log.error("S3 파일 저장 중 오류: {}", e.getMessage(), e);
+    /**
+     * 생성된 이미지를 S3와 DB에 저장
+     * S3 업로드가 끝난 뒤에 트랜잭션을 시작하여 images 행 INSERT만 트랜잭션 안에서 수행 (업로드 동안 DB 커넥션을 잡지 않음)
+     * 디스크 캐시 저장과 파생 이미지 생성은 커밋된 뒤에만 시작 (TransactionSynchronization.afterCommit)
+     * - 업로드가 실패하면 INSERT하지 않음
+     * - INSERT나 커밋이 실패하면 업로드한 S3 객체(원본과 파생 이미지 키)를 삭제
+     *
+     * @return 실제 S3 키 (실패 시 null)
+     */
+    private String saveGeneratedImage(ResponseImage responseImage, String prompt, String creatorEmail,
+                                      GenerationProgressListener listener) {
+        String s3Key = UUID.randomUUID() + "_" + responseImage.fileName();
+        listener.onPhase(GenerationJob.Phase.UPLOADING, null);
+
+        String eTag;
+        try {
+            eTag = saveBinaryFile(s3Key, responseImage.data()).join();
+        } catch (CompletionException e) {
+            log.error("S3 파일 저장 중 오류: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage(), e);
             return null;
         }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        onImageStored(s3Key, responseImage.data(), eTag);
+                    }
+                });
+                stageTracer.trace("db.image.save", () -> imageRepository.saveAndFlush(Image.builder()
+                        .s3Key(s3Key)
+                        .prompt(prompt)
+                        .creatorEmail(creatorEmail)
+                        .build()));
+            });
+        } catch (RuntimeException e) {
+            log.error("이미지 정보 저장 중 오류 - S3 키: {}, 오류: {}", s3Key, e.getMessage(), e);
+            deleteUploadedImages(List.of(s3Key));
+            return null;
+        }
+
+        evictGalleryPages();
+        log.info("이미지 저장 성공 - S3 키: {}", s3Key);
+        return s3Key;
     }
 
     /**
@@ -130,14 +256,33 @@ public class ImgService {
         return generatePresignedUrl(s3Key, "inline");
     }
 
+    /**
+     * 파생 이미지(썸네일, 미리보기)의 Presigned URL 생성 (브라우저 표시용)
+     *
+     * @param s3Key 원본 S3 객체 키
+     * @param derivative 파생 이미지 종류
+     * @return Presigned URL
+     */
+    public String generateDerivativeUrl(String s3Key, ImageDerivativeService.Derivative derivative) {
+        return generatePresignedUrl(ImageDerivativeService.derivativeKey(s3Key, derivative), "inline");
+    }
+
     /**
      * Presigned URL 생성 공통 메서드
+     * 갱신 시점 전까지는 캐시된 URL을 재사용 (PresignedUrlCache)
      *
      * @param s3Key S3 객체 키
      * @param contentDisposition attachment(다운로드) 또는 inline(브라우저 표시)
      * @return Presigned URL (1시간 유효)
      */
     private String generatePresignedUrl(String s3Key, String contentDisposition) {
+        return presignedUrlCache.get(s3Key, contentDisposition, () -> presignUrl(s3Key, contentDisposition));
+    }
+
+    /**
+     * S3Presigner로 URL 서명
+     */
+    private String presignUrl(String s3Key, String contentDisposition) {
         try {
             log.debug("S3 Presigned URL 생성 중 - 키: {}, disposition: {}", s3Key, contentDisposition);
 
@@ -152,8 +297,10 @@ public class ImgService {
                     .getObjectRequest(getObjectRequest)
                     .build();
 
+            long startedAt = System.nanoTime();
             PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
             String presignedUrl = presignedRequest.url().toString();
+            generationMetrics.recordS3("presign", true, System.nanoTime() - startedAt, 0);
 
             log.debug("S3 Presigned URL 생성 완료");
             return presignedUrl;
@@ -179,60 +326,179 @@ public class ImgService {
 
     /**
      * 프롬프트와 시스템 인스트럭션으로 이미지 생성
+     * 동일한 요청은 GenerationDeduplicator를 거쳐 한 번만 호출
      *
      * @param prompt 이미지 생성 프롬프트
      * @param creatorEmail 이미지 제작자 이메일
      * @return 실제 S3 키
      */
     public String generateImage(String prompt, String creatorEmail) throws QuotaExceededException {
+        return generateImage(prompt, creatorEmail, GenerationProgressListener.NONE);
+    }
+
+    /**
+     * 프롬프트와 시스템 인스트럭션으로 이미지 생성 (진행 단계 통지)
+     * 진행 중인 동일 요청의 결과를 공유하는 경우에는 진행 단계가 통지되지 않음
+     *
+     * @param listener 진행 단계 리스너
+     */
+    public String generateImage(String prompt, String creatorEmail, GenerationProgressListener listener) throws QuotaExceededException {
 
         if (prompt == null) return null;
 
-        Client client = Client.builder()
-                .apiKey(googleApiKey)
-                .build();
+        String requestKey = GenerationDeduplicator.key(creatorEmail, prompt, API_ROLE, null, List.of());
+        return generationDeduplicator.execute(requestKey, () -> {
+            String s3Key = requestImage(prompt, creatorEmail, listener);
+            // 첨부 없이 새로 만든 이미지는 새 편집 세션의 첫 턴 (결과를 공유받은 요청은 기록하지 않음)
+            if (s3Key != null) {
+                editSessionStore.record(creatorEmail, null, new EditSessionStore.Turn(prompt, s3Key));
+            }
+            return s3Key;
+        });
+    }
 
+    private String requestImage(String prompt, String creatorEmail, GenerationProgressListener listener) throws QuotaExceededException {
         try {
-            String model = "gemini-3-pro-image-preview";
+            ResponseImage responseImage = callImageModel(prompt, null, null, List.of(), listener);
 
-            var userContent = Content.builder()
-                    .role("user")
-                    .parts(ImmutableList.of(
-                            Part.fromText(prompt)
-                    ))
-                    .build();
+            return responseImage != null ? saveGeneratedImage(responseImage, prompt, creatorEmail, listener) : null;
 
-            var configBuilder = GenerateContentConfig.builder();
+        } catch (ApiException e) {
+            handleApiException(e);
+            return null;
+        } catch (QuotaExceededException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Gemini 호출 대기 중 인터럽트 발생");
+            return null;
+        } catch (Exception e) {
+            log.error("이미지 생성 중 예상치 못한 오류: {}", e.getMessage(), e);
+            return null;
+        }
+    }
 
-            var systemContent = Content.builder()
-                    .role("user")
-                    .parts(ImmutableList.of(
-                            Part.fromText(API_ROLE)
-                    ))
+    /**
+     * 이미 생성된 이미지를 재편집용 첨부 이미지로 서버에서 직접 로드
+     * 브라우저가 /download로 받은 뒤 다시 업로드하지 않도록 디스크 캐시(없으면 S3)에서 작업 소유 임시 파일로 복사
+     * (힙에 올리지 않으며, 축소/재인코딩은 생성 작업에서 수행 - GenerationJobService)
+     *
+     * @param s3Key 원본 이미지 S3 키 (images 테이블에 있는 키만 허용)
+     * @return 원본 첨부 이미지 임시 파일 (등록되지 않은 키면 empty)
+     */
+    public Optional<AttachmentPreprocessor.StagedAttachment> stageSourceAttachment(String s3Key)
+            throws IOException, InterruptedException {
+
+        if (s3Key == null || !imageRepository.existsByS3Key(s3Key)) {
+            return Optional.empty();
+        }
+
+        Path target = attachmentPreprocessor.newTempFile();
+        AttachmentPreprocessor.StagedAttachment staged =
+                new AttachmentPreprocessor.StagedAttachment(target, getContentType(s3Key));
+        try {
+            Optional<ImageDiskCache.CachedFile> cachedFile = imageDiskCache.get(s3Key);
+            if (cachedFile.isPresent()) {
+                Files.copy(cachedFile.get().path(), target);
+                log.debug("재편집 원본 로드 (디스크 캐시) - S3 키: {}", s3Key);
+                return Optional.of(staged);
+            }
+
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
                     .build();
-            configBuilder.systemInstruction(systemContent);
 
-            GenerateContentConfig config = configBuilder.build();
-            var contents = ImmutableList.of(userContent);
+            GetObjectResponse response;
+            try (StageTracer.Stage stage = stageTracer.start("s3.get", "s3.key", s3Key);
+                 DownstreamBulkhead.Permit permit = downstreamBulkhead.acquire(DownstreamBulkhead.Downstream.S3)) {
+                long startedAt = System.nanoTime();
+                try {
+                    response = s3AsyncClient.getObject(getObjectRequest, AsyncResponseTransformer.toFile(target)).join();
+                } catch (CompletionException e) {
+                    generationMetrics.recordS3("get", false, System.nanoTime() - startedAt, 0);
+                    stage.error(e);
+                    throw new IOException("S3 원본 조회 실패: " + s3Key, e.getCause());
+                }
+                generationMetrics.recordS3("get", true, System.nanoTime() - startedAt, Files.size(target));
+            }
+            imageDiskCache.put(s3Key, target, response.eTag(),
+                    response.lastModified() != null ? response.lastModified().toEpochMilli() : System.currentTimeMillis());
+            log.debug("재편집 원본 로드 (S3) - S3 키: {}", s3Key);
+            return Optional.of(staged);
+
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            attachmentPreprocessor.discard(staged);
+            throw e;
+        }
+    }
 
-            var response = client.models.generateContent(model, contents, config);
+    /**
+     * 첨부된 이미지 데이터를 기반으로 이미지 생성
+     * 생성 작업에서 전처리(AttachmentPreprocessor)를 마친 byte[]로 전달받음
+     * 동일한 프롬프트와 첨부 이미지 요청은 GenerationDeduplicator를 거쳐 한 번만 호출
+     *
+     * @param prompt 이미지 생성 프롬프트
+     * @param creatorEmail 이미지 제작자 이메일
+     * @param imageBytes 첨부된 이미지 데이터
+     * @param contentType 첨부된 이미지 MIME 타입 (null이면 image/jpeg)
+     * @return 실제 S3 키
+     */
+    public String generateImageWithAttachment(String prompt, String creatorEmail, byte[] imageBytes, String contentType) throws QuotaExceededException {
+        return generateImageWithAttachment(prompt, creatorEmail, imageBytes, contentType, GenerationProgressListener.NONE);
+    }
 
-            String savedS3Key = processResponse(response);
+    /**
+     * 첨부된 이미지 데이터를 기반으로 이미지 생성 (진행 단계 통지)
+     *
+     * @param listener 진행 단계 리스너
+     */
+    public String generateImageWithAttachment(String prompt, String creatorEmail, byte[] imageBytes, String contentType,
+                                              GenerationProgressListener listener) throws QuotaExceededException {
+        return generateImageWithAttachment(prompt, creatorEmail, imageBytes, contentType, null, listener);
+    }
 
-            if (savedS3Key != null) {
-                Image image = Image.builder()
-                        .s3Key(savedS3Key)
-                        .prompt(prompt)
-                        .creatorEmail(creatorEmail)
-                        .build();
-                imageRepository.save(image);
+    /**
+     * 기존 이미지를 이어서 편집 (진행 단계 통지)
+     * 편집 대상이 사용자 편집 세션의 마지막 결과 이미지이면 이전 턴을 대화 기록으로 함께 전송 (EditSessionStore)
+     *
+     * @param sourceS3Key 편집 대상 이미지의 S3 키 (업로드된 첨부 이미지면 null)
+     * @param listener 진행 단계 리스너
+     */
+    public String generateImageWithAttachment(String prompt, String creatorEmail, byte[] imageBytes, String contentType,
+                                              String sourceS3Key, GenerationProgressListener listener) throws QuotaExceededException {
+
+        if (prompt == null || imageBytes == null || imageBytes.length == 0) return null;
+
+        List<EditSessionStore.Turn> history = editSessionStore.history(creatorEmail, sourceS3Key);
+        String requestKey = GenerationDeduplicator.key(creatorEmail, prompt, API_ROLE, imageBytes, history);
+        return generationDeduplicator.execute(requestKey, () -> {
+            String s3Key = requestImageWithAttachment(prompt, creatorEmail, imageBytes, contentType, history, listener);
+            // 결과를 공유받은 요청은 기록하지 않음 (같은 턴이 중복 기록되지 않도록)
+            if (s3Key != null) {
+                editSessionStore.record(creatorEmail, sourceS3Key, new EditSessionStore.Turn(prompt, s3Key));
             }
+            return s3Key;
+        });
+    }
+
+    private String requestImageWithAttachment(String prompt, String creatorEmail, byte[] imageBytes, String contentType,
+                                              List<EditSessionStore.Turn> history,
+                                              GenerationProgressListener listener) throws QuotaExceededException {
+        try {
+            ResponseImage responseImage = callImageModel(prompt, imageBytes, contentType, history, listener);
 
-            return savedS3Key;
+            return responseImage != null ? saveGeneratedImage(responseImage, prompt, creatorEmail, listener) : null;
 
         } catch (ApiException e) {
             handleApiException(e);
             return null;
+        } catch (QuotaExceededException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Gemini 호출 대기 중 인터럽트 발생");
+            return null;
         } catch (Exception e) {
             log.error("이미지 생성 중 예상치 못한 오류: {}", e.getMessage(), e);
             return null;
@@ -240,73 +506,189 @@ public class ImgService {
     }
 
     /**
-     * 첨부된 이미지를 기반으로 이미지 생성
+     * 배치 생성용 변형 이미지 1장 생성 후 저장 (다른 변형을 기다리지 않고 바로 images 행 INSERT)
+     * 같은 프롬프트로 여러 장을 만드는 것이 목적이므로 GenerationDeduplicator를 거치지 않음
      *
      * @param prompt 이미지 생성 프롬프트
      * @param creatorEmail 이미지 제작자 이메일
-     * @param attachImage 첨부된 이미지 파일
-     * @return 실제 S3 키
+     * @param imageBytes 첨부된 이미지 데이터 (없으면 null)
+     * @param contentType 첨부된 이미지 MIME 타입
+     * @param listener 진행 단계 리스너
+     * @return 저장된 S3 키 (실패 시 null)
      */
-    public String generateImageWithAttachment(String prompt, String creatorEmail, MultipartFile attachImage) throws QuotaExceededException {
-
-        if (prompt == null || attachImage == null || attachImage.isEmpty()) return null;
+    public String generateVariant(String prompt, String creatorEmail, byte[] imageBytes, String contentType,
+                                  GenerationProgressListener listener) throws QuotaExceededException {
 
-        Client client = Client.builder()
-                .apiKey(googleApiKey)
-                .build();
+        if (prompt == null) return null;
 
         try {
-            String model = "gemini-3-pro-image-preview";
+            ResponseImage responseImage = callImageModel(prompt, imageBytes, contentType, List.of(), listener);
+
+            return responseImage != null ? saveGeneratedImage(responseImage, prompt, creatorEmail, listener) : null;
 
-            byte[] imageBytes = attachImage.getBytes();
-            String mimeType = attachImage.getContentType() != null ? attachImage.getContentType() : "image/jpeg";
+        } catch (ApiException e) {
+            handleApiException(e);
+            return null;
+        } catch (QuotaExceededException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Gemini 호출 대기 중 인터럽트 발생");
+            return null;
+        } catch (Exception e) {
+            log.error("이미지 생성 중 예상치 못한 오류: {}", e.getMessage(), e);
+            return null;
+        }
+    }
 
+    /**
+     * images 행 저장에 실패한 이미지의 S3 객체(원본과 파생 이미지)와 디스크 캐시 삭제
+     * 삭제 실패는 로그만 남김 (images 행이 없으므로 목록에는 노출되지 않음)
+     *
+     * @param s3Keys 업로드된 원본 S3 키
+     */
+    public void deleteUploadedImages(List<String> s3Keys) {
+        if (s3Keys.isEmpty()) return;
+
+        List<ObjectIdentifier> objects = new ArrayList<>();
+        for (String s3Key : s3Keys) {
+            imageDiskCache.remove(s3Key);
+            objects.add(ObjectIdentifier.builder().key(s3Key).build());
+            for (ImageDerivativeService.Derivative derivative : ImageDerivativeService.Derivative.values()) {
+                objects.add(ObjectIdentifier.builder().key(ImageDerivativeService.derivativeKey(s3Key, derivative)).build());
+            }
+        }
+
+        DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder().objects(objects).quiet(true).build())
+                .build();
+
+        long startedAt = System.nanoTime();
+        try (DownstreamBulkhead.Permit permit = downstreamBulkhead.acquire(DownstreamBulkhead.Downstream.S3)) {
+            s3AsyncClient.deleteObjects(deleteObjectsRequest).join();
+            generationMetrics.recordS3("delete", true, System.nanoTime() - startedAt, 0);
+            log.info("저장되지 않은 이미지 S3 객체 삭제 - {}개", s3Keys.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("S3 객체 삭제 중 인터럽트 발생 - S3 키: {}", s3Keys);
+        } catch (RuntimeException e) {
+            generationMetrics.recordS3("delete", false, System.nanoTime() - startedAt, 0);
+            log.error("저장되지 않은 이미지 S3 객체 삭제 실패 - S3 키: {}, 오류: {}", s3Keys, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 프롬프트(+ 첨부 이미지)와 시스템 인스트럭션으로 이미지 모델 호출
+     * 이어서 편집하는 경우 현재 편집 대상 이미지는 마지막 모델 턴의 결과 이미지로 전달하고, 마지막 요청에는 프롬프트만 보냄
+     *
+     * @param imageBytes 첨부된 이미지 데이터 (없으면 텍스트 프롬프트만 전달)
+     * @param contentType 첨부된 이미지 MIME 타입 (null이면 image/jpeg)
+     * @param history 이어서 편집하는 경우 이전 턴 (오래된 순서, 마지막 턴의 결과가 현재 편집 대상 이미지)
+     * @return 응답 이미지 (이미지가 없으면 null)
+     */
+    private ResponseImage callImageModel(String prompt, byte[] imageBytes, String contentType,
+                                         List<EditSessionStore.Turn> history, GenerationProgressListener listener)
+            throws QuotaExceededException, InterruptedException {
+        String model = "gemini-3-pro-image-preview";
+        boolean hasImage = imageBytes != null && imageBytes.length > 0;
+        Part imagePart = hasImage ? Part.fromBytes(imageBytes, contentType != null ? contentType : "image/jpeg") : null;
+
+        var parts = ImmutableList.<Part>builder().add(Part.fromText(prompt));
+        if (hasImage && history.isEmpty()) {
             // 이미지 + 텍스트 프롬프트 결합
-            var userContent = Content.builder()
-                    .role("user")
-                    .parts(ImmutableList.of(
-                            Part.fromText(prompt),
-                            Part.fromBytes(imageBytes, mimeType)
-                    ))
-                    .build();
+            parts.add(imagePart);
+        }
 
-            var configBuilder = GenerateContentConfig.builder();
+        var userContent = Content.builder()
+                .role("user")
+                .parts(parts.build())
+                .build();
 
-            var systemContent = Content.builder()
-                    .role("user")
-                    .parts(ImmutableList.of(
-                            Part.fromText(API_ROLE)
-                    ))
-                    .build();
-            configBuilder.systemInstruction(systemContent);
+        var systemContent = Content.builder()
+                .role("user")
+                .parts(ImmutableList.of(
+                        Part.fromText(API_ROLE)
+                ))
+                .build();
 
-            GenerateContentConfig config = configBuilder.build();
-            var contents = ImmutableList.of(userContent);
+        var contents = ImmutableList.<Content>builder()
+                .addAll(toHistoryContents(history, imagePart))
+                .add(userContent)
+                .build();
 
-            var response = client.models.generateContent(model, contents, config);
+        listener.onPhase(GenerationJob.Phase.CALLING_MODEL, null);
 
-            String savedS3Key = processResponse(response);
+        return callGemini(model, contents, GenerateContentConfig.builder()
+                .systemInstruction(systemContent)
+                .build(), listener);
+    }
 
-            if (savedS3Key != null) {
-                Image image = Image.builder()
-                        .s3Key(savedS3Key)
-                        .prompt(prompt)
-                        .creatorEmail(creatorEmail)
-                        .build();
-                imageRepository.save(image);
-            }
+    /**
+     * 편집 세션의 이전 턴을 대화 기록으로 변환
+     * 이미지 Part는 마지막 모델 턴의 현재 편집 대상 이미지(AttachmentPreprocessor로 축소/재인코딩된 첨부 이미지) 하나만 넣고,
+     * 그 이전 턴의 결과 이미지는 S3 키 텍스트로 대신함 (원본 해상도 이미지를 턴마다 다시 보내지 않도록)
+     *
+     * @param currentImage 현재 편집 대상 이미지 (마지막 턴의 결과)
+     */
+    static List<Content> toHistoryContents(List<EditSessionStore.Turn> history, Part currentImage) {
+        var contents = ImmutableList.<Content>builder();
+        for (int i = 0; i < history.size(); i++) {
+            EditSessionStore.Turn turn = history.get(i);
+            boolean last = i == history.size() - 1;
 
-            return savedS3Key;
+            contents.add(Content.builder()
+                    .role("user")
+                    .parts(ImmutableList.of(Part.fromText(turn.prompt())))
+                    .build());
+            contents.add(Content.builder()
+                    .role("model")
+                    .parts(ImmutableList.of(last && currentImage != null
+                            ? currentImage
+                            : Part.fromText("[요청에 따라 생성한 이미지: " + turn.s3Key() + "]")))
+                    .build());
+        }
+        return contents.build();
+    }
 
-        } catch (ApiException e) {
-            handleApiException(e);
-            return null;
-        } catch (IOException e) {
-            log.error("첨부 파일 처리 중 오류: {}", e.getMessage(), e);
-            return null;
-        } catch (Exception e) {
-            log.error("이미지 생성 중 예상치 못한 오류: {}", e.getMessage(), e);
-            return null;
+    /**
+     * Gemini 호출 후 응답 처리
+     * 전역 속도 제한(GeminiRateLimiter) 토큰은 GenerationJobService가 작업을 배정할 때 이미 받았으므로 여기서는 기다리지 않음
+     * 속도 제한과 별개로 동시에 진행 중인 호출 수는 DownstreamBulkhead로 제한
+     * 호출 지연 시간은 허가 대기 시간을 제외하고 결과(이미지/텍스트/429/오류)별로 기록
+     *
+     * @return 응답 이미지 (이미지가 없으면 null)
+     */
+    private ResponseImage callGemini(String model, List<Content> contents, GenerateContentConfig config,
+                                     GenerationProgressListener listener)
+            throws QuotaExceededException, InterruptedException {
+        try (StageTracer.Stage stage = stageTracer.start("gemini.generate", "model", model)) {
+            GenerateContentResponse response;
+            long elapsedNanos;
+            try (var permit = downstreamBulkhead.acquire(DownstreamBulkhead.Downstream.GEMINI)) {
+                long startedAt = System.nanoTime();
+                try {
+                    response = geminiClient.models.generateContent(model, contents, config);
+                } catch (RuntimeException e) {
+                    GenerationMetrics.GeminiOutcome outcome = e instanceof ApiException apiException && isQuotaExceeded(apiException)
+                            ? GenerationMetrics.GeminiOutcome.QUOTA_EXCEEDED
+                            : GenerationMetrics.GeminiOutcome.ERROR;
+                    generationMetrics.recordGemini(model, outcome, System.nanoTime() - startedAt);
+                    stage.tag("outcome", outcome.name().toLowerCase());
+                    stage.error(e);
+                    throw e;
+                }
+                elapsedNanos = System.nanoTime() - startedAt;
+            }
+            geminiRateLimiter.onSuccess();
+
+            ResponseImage responseImage = processResponse(response, listener);
+            GenerationMetrics.GeminiOutcome outcome = responseImage != null
+                    ? GenerationMetrics.GeminiOutcome.IMAGE
+                    : GenerationMetrics.GeminiOutcome.TEXT;
+            generationMetrics.recordGemini(model, outcome, elapsedNanos);
+            stage.tag("outcome", outcome.name().toLowerCase());
+            return responseImage;
         }
     }
 
@@ -320,9 +702,11 @@ public class ImgService {
      * - part.inlineData() -> Optional<Blob>
      * - blob.data() -> Optional<byte[]>
      *
-     * @return 실제 S3 키 (예: "uuid_generated_image.png")
+     * 이미지 없이 텍스트만 반환된 경우 TEXT_FALLBACK 단계로 텍스트를 통지
+     *
+     * @return 생성된 이미지 데이터와 파일명 (예: "generated_image.png"), 이미지가 없으면 null
      */
-    private String processResponse(GenerateContentResponse response) {
+    private ResponseImage processResponse(GenerateContentResponse response, GenerationProgressListener listener) {
         try {
             if (response.candidates() == null || response.candidates().isEmpty()) {
                 log.error("응답에 candidates가 없음");
@@ -350,6 +734,8 @@ public class ImgService {
             var parts = content.parts().get();
             log.debug("응답 파트 개수: {}", parts.size());
 
+            String textResponse = null;
+
             for (Part part : parts) {
                 // 이미지 데이터가 있는 경우
                 if (part.inlineData() != null && part.inlineData().isPresent()) {
@@ -369,28 +755,23 @@ public class ImgService {
                         byte[] imageData = blob.data().get();
                         log.debug("이미지 데이터 크기: {} bytes", imageData.length);
 
-                        String fileName = "generated_image" + fileExtension;
-                        String s3Key = saveBinaryFile(fileName, imageData);
-
-                        if (s3Key != null) {
-                            log.info("이미지 저장 성공 - S3 키: {}", s3Key);
-                            return s3Key;
-                        } else {
-                            log.error("이미지 저장 실패");
-                            return null;
-                        }
+                        return new ResponseImage("generated_image" + fileExtension, imageData);
                     }
                 }
 
                 // 텍스트 응답인 경우 (이미지 생성 실패 원인 파악용)
                 if (part.text() != null && part.text().isPresent()) {
-                    String textResponse = part.text().get();
+                    textResponse = part.text().get();
                     log.warn("API가 이미지 대신 텍스트를 반환함: {}",
                             textResponse.length() > 200 ? textResponse.substring(0, 200) + "..." : textResponse);
                 }
             }
 
             log.error("응답에서 이미지 데이터를 찾을 수 없음 - API가 이미지 생성을 거부했거나 텍스트만 반환함");
+            if (textResponse != null) {
+                generationMetrics.recordTextFallback();
+                listener.onPhase(GenerationJob.Phase.TEXT_FALLBACK, textResponse);
+            }
             return null;
 
         } catch (Exception e) {
@@ -406,17 +787,32 @@ public class ImgService {
         String errorMessage = e.getMessage();
         log.error("Gemini API 에러: {}", errorMessage);
 
-        if (errorMessage != null &&
-            (errorMessage.contains("429") ||
-             errorMessage.contains("quota") ||
-             errorMessage.contains("Quota exceeded"))) {
+        if (isQuotaExceeded(e)) {
             double retryAfterSeconds = extractRetryAfterSeconds(errorMessage);
             long retryAfterMillis = retryAfterSeconds > 0 ? (long) (retryAfterSeconds * 1000) : 60000;
             log.warn("API 할당량 초과 - 재시도 대기: {}초", retryAfterSeconds);
+            geminiRateLimiter.onQuotaExceeded(retryAfterMillis);
             throw new QuotaExceededException("API 할당량이 초과되었습니다. 잠시 후 다시 시도해주세요.", retryAfterMillis);
         }
     }
 
+    /**
+     * 할당량 초과(429) 에러 여부
+     */
+    private boolean isQuotaExceeded(ApiException e) {
+        String errorMessage = e.getMessage();
+        return errorMessage != null &&
+               (errorMessage.contains("429") ||
+                errorMessage.contains("quota") ||
+                errorMessage.contains("Quota exceeded"));
+    }
+
+    /**
+     * Gemini 응답에서 추출한 이미지
+     */
+    private record ResponseImage(String fileName, byte[] data) {
+    }
+
     /**
      * API 할당량 초과 커스텀 예외
      */
@@ -435,38 +831,138 @@ public class ImgService {
 
     /**
      * 페이지네이션으로 이미지 조회
-     * Spring Data JPA Page 객체 직접 반환
+     * 첫 queryCachePages 페이지는 쿼리 캐시(id 목록)와 Image 2차 캐시에서 읽고 즐겨찾기 여부만 따로 조회
+     * 그 이후 페이지는 저장 수와 즐겨찾기 여부를 집계 Projection으로 함께 조회 (이미지별 컬렉션 로딩 없음)
+     * 전체 개수는 매 요청 COUNT(*) 대신 캐시된 값 사용
      *
      * @param pageable 페이지네이션 정보
      * @param userEmail 현재 로그인한 사용자 이메일 (null 가능)
      * @return Page<ImageListResponse>
      */
     public Page<ImageListResponse> getPagedImages(Pageable pageable, String userEmail) {
-        Page<Image> imagePage = imageRepository.findAll(pageable);
+        Long userId = resolveUserId(userEmail);
+
+        List<ImageListResponse> content;
+        if (pageable.getPageNumber() < queryCachePages) {
+            List<Image> images = generationMetrics.recordQuery("images.page",
+                    () -> imageRepository.findCachedImages(pageable));
+            content = convertToImageListResponses(images, userId);
+        } else {
+            content = generationMetrics.recordQuery("images.page",
+                    () -> imageRepository.findImageSummaries(userId, pageable)).stream()
+                    .map(this::convertToImageListResponse)
+                    .toList();
+        }
+        return new PageImpl<>(content, pageable, getTotalImageCount());
+    }
 
-        return imagePage.map(image -> convertToImageListResponse(image, userEmail));
+    /**
+     * 커서 기반으로 이미지 조회 (무한 스크롤용)
+     *
+     * @param afterId 이전 페이지의 마지막 이미지 id (null이면 첫 페이지)
+     * @param size 페이지 크기
+     * @param userEmail 현재 로그인한 사용자 이메일 (null 가능)
+     * @return Slice<ImageListResponse>
+     */
+    public Slice<ImageListResponse> getImagesAfter(Long afterId, int size, String userEmail) {
+        Long userId = resolveUserId(userEmail);
+
+        // 첫 페이지는 쿼리 캐시 사용 (커서가 있는 페이지는 커서마다 키가 달라 캐시하지 않음)
+        if (afterId == null && queryCachePages > 0) {
+            Slice<Image> imageSlice = generationMetrics.recordQuery("images.after",
+                    () -> imageRepository.findCachedImagesAfter(Long.MAX_VALUE, PageRequest.of(0, size)));
+            return new SliceImpl<>(convertToImageListResponses(imageSlice.getContent(), userId),
+                    imageSlice.getPageable(), imageSlice.hasNext());
+        }
+
+        Slice<ImageSummary> imageSlice = generationMetrics.recordQuery("images.after",
+                () -> imageRepository.findImageSummariesAfter(
+                        userId,
+                        afterId != null ? afterId : Long.MAX_VALUE,
+                        PageRequest.of(0, size)));
+
+        return imageSlice.map(this::convertToImageListResponse);
     }
 
     /**
-     * Image 엔티티를 ImageListResponse DTO로 변환
+     * 목록 쿼리 캐시(첫 페이지들) 비우기
+     * 새 이미지가 저장되면 페이지 구성이 바뀌므로 저장 직후 호출
+     */
+    public void evictGalleryPages() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(ImageRepository.LIST_CACHE_REGION);
+    }
+
+    /**
+     * 전체 이미지 수 (캐시된 근사값)
+     * countCacheSeconds 동안은 DB COUNT(*)를 다시 실행하지 않음
      */
-    private ImageListResponse convertToImageListResponse(Image image, String userEmail) {
-        Boolean isFavorited = false;
-        if (userEmail != null && !userEmail.trim().isEmpty()) {
-            isFavorited = image.getUserSaveImages() != null &&
-                    image.getUserSaveImages().stream()
-                            .anyMatch(usi -> userEmail.equals(usi.getUser().getEmail()));
+    public long getTotalImageCount() {
+        long now = System.currentTimeMillis();
+        if (cachedImageCount < 0 || now >= imageCountExpiresAt) {
+            cachedImageCount = generationMetrics.recordQuery("images.count", imageRepository::count);
+            imageCountExpiresAt = now + countCacheSeconds * 1000;
         }
+        return cachedImageCount;
+    }
+
+    /**
+     * 즐겨찾기 여부 조회용 사용자 id (UserIdCache에서 조회하므로 목록 쿼리에 users JOIN이 필요 없음)
+     */
+    private Long resolveUserId(String userEmail) {
+        return userIdCache.resolve(userEmail).orElse(null);
+    }
+
+    /**
+     * 캐시에서 읽은 Image 목록을 ImageListResponse DTO로 변환
+     * 즐겨찾기 여부는 사용자별로 다르므로 캐시하지 않고 해당 페이지의 이미지 id로 한 번에 조회
+     */
+    private List<ImageListResponse> convertToImageListResponses(List<Image> images, Long userId) {
+        Set<Long> favoritedIds = userId == null || images.isEmpty()
+                ? Set.of()
+                : Set.copyOf(userSaveImagesRepository.findSavedImageIds(userId,
+                        images.stream().map(Image::getId).toList()));
+
+        return images.stream()
+                .map(image -> convertToImageListResponse(image, favoritedIds.contains(image.getId())))
+                .toList();
+    }
+
+    /**
+     * Image 엔티티를 ImageListResponse DTO로 변환
+     */
+    private ImageListResponse convertToImageListResponse(Image image, boolean favorited) {
+        String s3Key = image.getS3Key();
+        return ImageListResponse.builder()
+                .id(image.getId())
+                .imageUrl(generateS3Url(s3Key))
+                .displayUrl(generateDisplayUrl(s3Key))
+                .thumbnailUrl(generateDerivativeUrl(s3Key, ImageDerivativeService.Derivative.THUMBNAIL))
+                .previewUrl(generateDerivativeUrl(s3Key, ImageDerivativeService.Derivative.PREVIEW))
+                .s3Key(s3Key)
+                .prompt(image.getPrompt())
+                .saveCount(image.getSaveCount())
+                .creatorEmail(image.getCreatorEmail())
+                .isFavorited(favorited)
+                .build();
+    }
 
+    /**
+     * ImageSummary Projection을 ImageListResponse DTO로 변환
+     */
+    private ImageListResponse convertToImageListResponse(ImageSummary image) {
         String s3Key = image.getS3Key();
         return ImageListResponse.builder()
+                .id(image.getId())
                 .imageUrl(generateS3Url(s3Key))
                 .displayUrl(generateDisplayUrl(s3Key))
+                .thumbnailUrl(generateDerivativeUrl(s3Key, ImageDerivativeService.Derivative.THUMBNAIL))
+                .previewUrl(generateDerivativeUrl(s3Key, ImageDerivativeService.Derivative.PREVIEW))
                 .s3Key(s3Key)
                 .prompt(image.getPrompt())
-                .saveCount((long) (image.getUserSaveImages() != null ? image.getUserSaveImages().size() : 0))
+                .saveCount(image.getSaveCount() != null ? image.getSaveCount() : 0L)
                 .creatorEmail(image.getCreatorEmail())
-                .isFavorited(isFavorited)
+                .isFavorited(image.isFavorited())
                 .build();
     }
 
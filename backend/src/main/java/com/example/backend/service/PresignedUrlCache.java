@@ -0,0 +1,53 @@
+package com.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Presigned URL 캐시 (Caffeine)
+ * (s3Key, disposition) 단위로 서명된 URL을 재사용하여 목록 조회마다 SigV4 서명을 반복하지 않음
+ * URL 유효시간(1시간)보다 짧은 refreshAfter가 지나면 새로 서명하고, 최대 크기를 넘으면 사용 빈도가 낮은 항목부터 제거
+ * 적중률/크기 지표는 MetricsConfig에서 CaffeineCacheMetrics로 등록
+ */
+@Component
+public class PresignedUrlCache {
+
+    private final Cache<String, String> cache;
+
+    @Autowired
+    public PresignedUrlCache(@Value("${aws.s3.presigned-url.cache-size:10000}") int maxSize,
+                             @Value("${aws.s3.presigned-url.refresh-after-minutes:50}") long refreshAfterMinutes) {
+        this(maxSize, Duration.ofMinutes(refreshAfterMinutes));
+    }
+
+    PresignedUrlCache(int maxSize, Duration refreshAfter) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(refreshAfter)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시된 URL 반환, 없거나 갱신 시점이 지났으면 presigner로 새로 생성
+     * (같은 키를 동시에 요청하면 한 번만 서명)
+     *
+     * @param s3Key S3 객체 키
+     * @param contentDisposition attachment 또는 inline
+     * @param presigner URL 생성 함수 (null 반환 시 캐시하지 않음)
+     * @return Presigned URL
+     */
+    public String get(String s3Key, String contentDisposition, Supplier<String> presigner) {
+        return cache.get(contentDisposition + ":" + s3Key, cacheKey -> presigner.get());
+    }
+
+    public Cache<String, String> getCache() {
+        return cache;
+    }
+}
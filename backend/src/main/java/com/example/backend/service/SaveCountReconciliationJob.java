@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.ImageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * images.save_count 보정 작업
+ * 증감 UPDATE 누락 등으로 어긋난 저장 수를 user_save_images 기준으로 주기적으로 복구
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class SaveCountReconciliationJob {
+
+    private final ImageRepository imageRepository;
+
+    @Transactional
+    @Scheduled(cron = "${app.save-count.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        int updated = imageRepository.reconcileSaveCounts();
+        if (updated > 0) {
+            log.warn("저장 수 보정 완료 - 보정된 이미지 수: {}", updated);
+        } else {
+            log.debug("저장 수 보정 - 어긋난 이미지 없음");
+        }
+    }
+}
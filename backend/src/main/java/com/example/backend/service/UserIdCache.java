@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 이메일 → users.id 캐시 (Caffeine)
+ * 로그인 사용자 요청(즐겨찾기, 목록의 즐겨찾기 여부)마다 users를 이메일로 다시 조회하지 않도록 id를 재사용
+ * 사용자 id는 바뀌지 않으므로 만료 없이 최대 크기만 제한하고,
+ * 없는 사용자는 캐시하지 않음 (가입 직후 바로 조회되도록)
+ *
+ * DB 조회는 cache.get으로 이메일 단위 원자적으로 실행되어, 조회 중에 들어온 invalidate는
+ * 조회가 끝난 뒤 적용됨 (조회 결과가 제거를 덮어쓰지 않음)
+ */
+@Component
+public class UserIdCache {
+
+    private final Function<String, Optional<Long>> loader;
+    private final Cache<String, Long> cache;
+
+    @Autowired
+    public UserIdCache(@Value("${app.user-id-cache.max-size:10000}") int maxSize,
+                       UserRepository userRepository) {
+        this(maxSize, userRepository::findIdByEmail);
+    }
+
+    UserIdCache(int maxSize, Function<String, Optional<Long>> loader) {
+        this.loader = loader;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 이메일에 해당하는 사용자 id 반환 (캐시에 없으면 DB 조회)
+     *
+     * @param email 사용자 이메일 (null 또는 빈 값이면 empty)
+     * @return 사용자 id (가입하지 않은 이메일이면 empty)
+     */
+    public Optional<Long> resolve(String email) {
+        if (email == null || email.isBlank()) {
+            return Optional.empty();
+        }
+        // loader가 null을 반환하면 캐시하지 않음
+        return Optional.ofNullable(cache.get(email, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * 이미 알고 있는 사용자 id 등록 (로그인 시 생성/조회한 사용자)
+     */
+    public void put(String email, Long userId) {
+        cache.put(email, userId);
+    }
+
+    /**
+     * 캐시된 사용자 id 제거 (사용자 행이 사라졌거나 캐시 값이 맞지 않을 때)
+     */
+    public void invalidate(String email) {
+        if (email == null) return;
+        cache.invalidate(email);
+    }
+
+    public Cache<String, Long> getCache() {
+        return cache;
+    }
+}
@@ -4,16 +4,26 @@ import com.example.backend.dto.ImageListResponse;
 import com.example.backend.dto.UserResponseDto;
 import com.example.backend.entity.Image;
 import com.example.backend.entity.User;
-import com.example.backend.entity.UserSaveImages;
+import com.example.backend.repository.FavoriteSummary;
 import com.example.backend.repository.ImageRepository;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.repository.UserSaveImagesRepository;
+import com.example.backend.util.S3KeyHashUtils;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
@@ -23,73 +33,143 @@ public class UserService {
     private final ImageRepository imageRepository;
     private final UserSaveImagesRepository userSaveImagesRepository;
     private final ImgService imgService;
+    private final GenerationMetrics generationMetrics;
+    private final UserIdCache userIdCache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * 로그인한 사용자 생성 또는 조회
+     * 동시에 처음 로그인해 users.email 유니크 인덱스에 걸리면 먼저 생성된 행을 다시 조회
+     * 조회한 id는 UserIdCache에 등록하여 이후 요청에서 users를 다시 조회하지 않음
+     *
+     * @param email 사용자 이메일
+     * @return 사용자 id와 이메일
+     */
     public UserResponseDto createUser(String email) {
         User user = userRepository.findByEmail(email)
-                .orElseGet(() -> userRepository.save(
-                        User.builder()
+                .orElseGet(() -> {
+                    try {
+                        return userRepository.save(User.builder()
                                 .email(email)
-                                .build()
-                ));
+                                .build());
+                    } catch (DataIntegrityViolationException e) {
+                        return userRepository.findByEmail(email).orElseThrow(() -> e);
+                    }
+                });
+        userIdCache.put(user.getEmail(), user.getId());
+
         return UserResponseDto.builder()
+                .id(user.getId())
                 .email(user.getEmail())
                 .build();
     }
 
     /**
-     * S3 이미지를 DB에 저장
+     * 즐겨찾기 저장/해제 결과
+     *
+     * @param saved 요청 처리 후 저장 상태
+     * @param saveCount 요청 처리 후 이미지 저장 수
+     */
+    public record FavoriteState(boolean saved, long saveCount) {
+    }
+
+    /**
+     * 이미지 즐겨찾기 저장 또는 해제
+     * 현재 상태를 뒤집는 토글이 아니라 요청한 상태로 맞추므로, 연속 클릭이나 재전송으로 같은 요청이 여러 번 와도 결과가 같음 (멱등)
+     * 엔티티를 읽지 않고 s3_key_hash/(user_id, image_id) 인덱스를 타는 INSERT 또는 DELETE 한 문장으로 상태를 바꾸고,
+     * 실제로 행이 바뀐 경우에만 저장 수를 증감한 뒤 저장 수를 조회 (바뀐 경우 3문장, 이미 요청한 상태면 2문장)
+     * 동시 요청이 같은 행을 먼저 추가해 실패하면 한 번 다시 실행 (다시 실행하면 이미 저장된 상태로 처리됨)
      *
      * @param s3Key S3 객체 키
-     * @param email 사용자 이메일
-     * @return 저장된 Image 객체
+     * @param userId 사용자 id
+     * @param saved 요청한 저장 상태 (true: 저장, false: 해제)
+     * @return 처리 후 상태 (이미지가 없으면 null)
+     * @throws org.springframework.dao.DataIntegrityViolationException 사용자가 없는 경우 (외래 키 위반)
      */
-    @Transactional
-    public Image saveImage(String s3Key, String email) {
-        Image image = imageRepository.findByS3Key(s3Key).orElse(null);
-        User user = userRepository.findByEmail(email).orElse(null);
-        if(image != null && user != null) {
-            if(userSaveImagesRepository.existsByUserAndImage(user, image)) {
-             userSaveImagesRepository.deleteByUserAndImage(user, image);
-            } else {
-                UserSaveImages userSaveImages = UserSaveImages.builder()
-                        .image(image)
-                        .user(user)
-                        .build();
-                UserSaveImages response = userSaveImagesRepository.save(userSaveImages);
+    public FavoriteState saveImage(String s3Key, Long userId, boolean saved) {
+        byte[] s3KeyHash = S3KeyHashUtils.hash(s3Key);
+        try {
+            return transactionTemplate.execute(status -> applyFavorite(s3KeyHash, userId, saved));
+        } catch (DuplicateKeyException | PessimisticLockingFailureException e) {
+            // 동시 요청이 같은 행을 먼저 추가함 - 다시 실행하면 NOT EXISTS에 걸려 현재 상태만 조회
+            return transactionTemplate.execute(status -> applyFavorite(s3KeyHash, userId, saved));
+        }
+    }
+
+    private FavoriteState applyFavorite(byte[] s3KeyHash, Long userId, boolean saved) {
+        boolean changed;
+        if (saved) {
+            changed = userSaveImagesRepository.insertIfAbsent(userId, s3KeyHash) > 0;
+            if (changed) {
+                imageRepository.incrementSaveCount(s3KeyHash);
+            }
+        } else {
+            changed = userSaveImagesRepository.deleteByUserIdAndS3KeyHash(userId, s3KeyHash) > 0;
+            if (changed) {
+                imageRepository.decrementSaveCount(s3KeyHash);
             }
-            return image;
         }
-        return null;
+
+        return imageRepository.findSaveCountByS3KeyHash(s3KeyHash)
+                .map(saveCount -> {
+                    if (changed) {
+                        evictImageAfterCommit(saveCount.getId());
+                    }
+                    return new FavoriteState(saved, saveCount.getSaveCount());
+                })
+                .orElse(null);
     }
 
     /**
-     * 사용자의 즐겨찾기 목록 조회
-     *
-     * @param email 사용자 이메일
-     * @return 즐겨찾기 이미지 목록
+     * 저장 수가 바뀐 이미지를 커밋 후 2차 캐시에서 제거 (다음 목록 조회에서 해당 이미지만 다시 읽음)
+     * 저장 수 UPDATE는 다른 이미지와 목록 쿼리 캐시를 무효화하지 않음 (ImageRepository.SAVE_COUNT_QUERY_SPACE)
      */
-    public List<ImageListResponse> getUserFavorites(String email) {
-        User user = userRepository.findByEmail(email).orElse(null);
+    private void evictImageAfterCommit(Long imageId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Image.class, imageId);
+            }
+        });
+    }
 
-        if (user == null) {
-            return List.of();
+    /**
+     * 사용자의 즐겨찾기 목록 조회 (커서 기반)
+     * 저장 행과 이미지, 저장 수를 Projection 쿼리 1회로 조회하므로 즐겨찾기 수와 관계없이 페이지당 쿼리 수가 일정
+     *
+     * @param userId 사용자 id (null이면 빈 목록)
+     * @param afterSaveId 이전 페이지의 마지막 저장 id (null이면 첫 페이지)
+     * @param size 페이지 크기
+     * @return 즐겨찾기 이미지 목록 (최근 저장 순)
+     */
+    public Slice<ImageListResponse> getUserFavorites(Long userId, Long afterSaveId, int size) {
+        if (userId == null) {
+            return new SliceImpl<>(List.of());
         }
 
-        return user.getUserSaveImagesList().stream()
-                .map(userSaveImages -> {
-                    Image image = userSaveImages.getImage();
-                    String s3Key = image.getS3Key();
-                    return ImageListResponse.builder()
-                            .imageUrl(generatePresignedUrl(s3Key))
-                            .displayUrl(generateDisplayUrl(s3Key))
-                            .s3Key(s3Key)
-                            .prompt(image.getPrompt())
-                            .saveCount((long) (image.getUserSaveImages() != null ? image.getUserSaveImages().size() : 0))
-                            .creatorEmail(image.getCreatorEmail())
-                            .isFavorited(true)  // 즐겨찾기 페이지는 이미 저장된 것만 표시
-                            .build();
-                })
-                .collect(Collectors.toList());
+        Slice<FavoriteSummary> favorites = generationMetrics.recordQuery("favorites",
+                () -> userSaveImagesRepository.findFavoritesAfter(
+                        userId,
+                        afterSaveId != null ? afterSaveId : Long.MAX_VALUE,
+                        PageRequest.of(0, size)));
+
+        return favorites.map(favorite -> {
+            String s3Key = favorite.getS3Key();
+            return ImageListResponse.builder()
+                    .id(favorite.getId())
+                    .saveId(favorite.getSaveId())
+                    .imageUrl(generatePresignedUrl(s3Key))
+                    .displayUrl(generateDisplayUrl(s3Key))
+                    .thumbnailUrl(imgService.generateDerivativeUrl(s3Key, ImageDerivativeService.Derivative.THUMBNAIL))
+                    .previewUrl(imgService.generateDerivativeUrl(s3Key, ImageDerivativeService.Derivative.PREVIEW))
+                    .s3Key(s3Key)
+                    .prompt(favorite.getPrompt())
+                    .saveCount(favorite.getSaveCount() != null ? favorite.getSaveCount() : 0L)
+                    .creatorEmail(favorite.getCreatorEmail())
+                    .isFavorited(true)  // 즐겨찾기 페이지는 이미 저장된 것만 표시
+                    .build();
+        });
     }
 
     /**
@@ -112,15 +192,15 @@ public class UserService {
      * 즐겨찾기에서 이미지 제거
      *
      * @param s3Key S3 객체 키
-     * @param email 사용자 이메일
+     * @param userId 사용자 id
      */
     @Transactional
-    public void removeFavorite(String s3Key, String email) {
-        Image image = imageRepository.findByS3Key(s3Key).orElse(null);
-        User user = userRepository.findByEmail(email).orElse(null);
-
-        if (image != null && user != null) {
-            userSaveImagesRepository.deleteByUserAndImage(user, image);
+    public void removeFavorite(String s3Key, Long userId) {
+        byte[] s3KeyHash = S3KeyHashUtils.hash(s3Key);
+        if (userSaveImagesRepository.deleteByUserIdAndS3KeyHash(userId, s3KeyHash) > 0) {
+            imageRepository.decrementSaveCount(s3KeyHash);
+            imageRepository.findSaveCountByS3KeyHash(s3KeyHash)
+                    .ifPresent(saveCount -> evictImageAfterCommit(saveCount.getId()));
         }
     }
 }
@@ -1,20 +1,37 @@
 package com.example.backend.util;
 
+import com.example.backend.service.UserIdCache;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.Model;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * 인증 관련 공통 유틸리티
  */
+@RequiredArgsConstructor
 @Component
 public class AuthHelper {
 
+    private static final String SESSION_USER_KEY = AuthHelper.class.getName() + ".USER";
+
+    private final UserIdCache userIdCache;
+
+    /**
+     * 세션에 보관하는 로그인 사용자 (세션 고정 보호로 속성이 새 세션에 복사되므로 이메일도 함께 저장해 검증)
+     */
+    private record SessionUser(Long id, String email) implements Serializable {
+    }
+
     /**
      * 현재 로그인 상태를 확인하고 Model에 User 객체를 추가
      *
@@ -61,4 +78,57 @@ public class AuthHelper {
 
         return null;
     }
+
+    /**
+     * 현재 로그인한 사용자의 users.id 반환
+     * 로그인 시 세션에 저장한 값을 사용하고, 없으면(이전 세션 등) UserIdCache로 조회해 세션에 저장
+     *
+     * @return 로그인한 사용자 id, 없으면 null
+     */
+    public Long getCurrentUserId() {
+        String email = getCurrentUserEmail();
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+
+        HttpSession session = currentSession();
+        if (session != null && session.getAttribute(SESSION_USER_KEY) instanceof SessionUser user
+                && email.equals(user.email())) {
+            return user.id();
+        }
+
+        Long userId = userIdCache.resolve(email).orElse(null);
+        if (userId != null) {
+            setCurrentUserId(email, userId);
+        }
+        return userId;
+    }
+
+    /**
+     * 로그인 직후 확인한 사용자 id를 세션에 저장
+     */
+    public void setCurrentUserId(String email, Long userId) {
+        HttpSession session = currentSession();
+        if (session != null) {
+            session.setAttribute(SESSION_USER_KEY, new SessionUser(userId, email));
+        }
+    }
+
+    /**
+     * 세션과 캐시의 사용자 id 제거 (사용자 행을 찾지 못했을 때 다음 요청에서 다시 조회)
+     */
+    public void invalidateCurrentUserId() {
+        HttpSession session = currentSession();
+        if (session != null) {
+            session.removeAttribute(SESSION_USER_KEY);
+        }
+        userIdCache.invalidate(getCurrentUserEmail());
+    }
+
+    private HttpSession currentSession() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getSession(false);
+        }
+        return null;
+    }
 }
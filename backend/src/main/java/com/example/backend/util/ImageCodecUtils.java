@@ -0,0 +1,165 @@
+package com.example.backend.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 이미지 디코딩/축소/인코딩 유틸리티 (JDK ImageIO 사용 - 네이티브 코덱 의존성 없음)
+ * WebP는 읽기만 지원 (TwelveMonkeys imageio-webp 플러그인), 인코딩은 JPEG/PNG만 사용
+ */
+public final class ImageCodecUtils {
+
+    private ImageCodecUtils() {
+    }
+
+    /**
+     * 디코딩하지 않고 헤더에서 읽은 이미지 정보
+     *
+     * @param mimeType 실제 형식의 MIME 타입 (예: image/jpeg)
+     */
+    public record ImageInfo(String mimeType, int width, int height) {
+
+        public int longEdge() {
+            return Math.max(width, height);
+        }
+    }
+
+    /**
+     * 픽셀을 디코딩하지 않고 형식과 크기만 조회
+     *
+     * @return 이미지 정보 (지원하지 않는 형식이면 null)
+     */
+    public static ImageInfo readInfo(InputStream in) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) return null;
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                String[] mimeTypes = reader.getOriginatingProvider() != null
+                        ? reader.getOriginatingProvider().getMIMETypes()
+                        : null;
+                String mimeType = mimeTypes != null && mimeTypes.length > 0
+                        ? mimeTypes[0]
+                        : "image/" + reader.getFormatName().toLowerCase();
+                return new ImageInfo(mimeType, reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 스트림에서 이미지를 디코딩
+     * 원본이 maxEdge의 2배보다 크면 디코딩 단계에서 픽셀을 건너뛰어(subsampling) 메모리 사용량을 줄임
+     *
+     * @return 디코딩된 이미지 (지원하지 않는 형식이면 null)
+     */
+    public static BufferedImage read(InputStream in, int maxEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) return null;
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = longEdge / (maxEdge * 2);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 긴 변이 maxEdge가 되도록 비율을 유지하여 축소 (더 작으면 크기 유지)
+     * 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 여러 번 축소
+     *
+     * @param keepAlpha false면 흰 배경 위에 그려 알파 채널 제거 (JPEG 인코딩용)
+     */
+    public static BufferedImage resize(BufferedImage source, int maxEdge, boolean keepAlpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height,
+                    keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!keepAlpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    /**
+     * JPEG 인코딩
+     *
+     * @param quality 0.0 ~ 1.0
+     */
+    public static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * PNG 인코딩 (알파 채널 유지)
+     */
+    public static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
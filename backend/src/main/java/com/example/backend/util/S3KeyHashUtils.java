@@ -0,0 +1,31 @@
+package com.example.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * S3 키 조회용 해시 유틸리티
+ * images.s3key는 LONGTEXT라 인덱스를 걸 수 없으므로, 고정 길이(32바이트) SHA-256 값을 유니크 인덱스 컬럼(s3_key_hash)에 저장해 조회
+ * (migrations/V2의 UNHEX(SHA2(s3key, 256))와 같은 값)
+ */
+public final class S3KeyHashUtils {
+
+    // SHA-256 출력 길이 (Image.s3KeyHash 컬럼 길이)
+    public static final int HASH_LENGTH = 32;
+
+    private S3KeyHashUtils() {
+    }
+
+    /**
+     * @param s3Key S3 객체 키
+     * @return UTF-8 바이트의 SHA-256 해시 (32바이트)
+     */
+    public static byte[] hash(String s3Key) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(s3Key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다", e);
+        }
+    }
+}
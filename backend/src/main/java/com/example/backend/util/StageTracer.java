@@ -0,0 +1,105 @@
+package com.example.backend.util;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 처리 단계(Gemini 호출, S3 요청, DB 저장 등) span 공통 처리 (Micrometer Tracing)
+ * span 시작/현재 span 지정/예외 기록/종료를 한곳에서 처리하여 단계마다 같은 코드를 반복하지 않음
+ *
+ * - trace: 본문을 span 안에서 실행하고 예외가 나면 span에 기록한 뒤 그대로 다시 던짐
+ * - start: try-with-resources로 span 범위를 직접 정함 (결과별 태그나 예외 처리가 단계마다 다른 경우)
+ * - startAsync: 다른 스레드(비동기 완료 콜백)에서 끝나는 단계 (현재 span으로 지정하지 않음)
+ */
+@RequiredArgsConstructor
+@Component
+public class StageTracer {
+
+    private final Tracer tracer;
+
+    /**
+     * span 안에서 실행할 본문
+     *
+     * @param <E> 본문이 던지는 검사 예외 (없으면 RuntimeException으로 추론됨)
+     */
+    @FunctionalInterface
+    public interface Body<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    /**
+     * 본문을 span 안에서 실행 (예외 발생 시 span에 기록 후 다시 던짐)
+     *
+     * @param name span 이름
+     * @param tags 태그 키와 값을 번갈아 나열 (예: "s3.key", s3Key)
+     */
+    public <T, E extends Exception> T trace(String name, Body<T, E> body, String... tags) throws E {
+        try (Stage stage = start(name, tags)) {
+            try {
+                return body.get();
+            } catch (Exception e) {
+                stage.error(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 단계 시작 - span을 시작하고 현재 span으로 지정 (close 시 종료)
+     *
+     * @param name span 이름
+     * @param tags 태그 키와 값을 번갈아 나열
+     */
+    public Stage start(String name, String... tags) {
+        Span span = newSpan(name, tags);
+        return new Stage(span, tracer.withSpan(span));
+    }
+
+    /**
+     * 다른 스레드에서 끝나는 단계 시작 - 현재 span으로 지정하지 않음 (완료 콜백에서 close)
+     */
+    public Stage startAsync(String name, String... tags) {
+        return new Stage(newSpan(name, tags), null);
+    }
+
+    private Span newSpan(String name, String... tags) {
+        Span span = tracer.nextSpan().name(name);
+        for (int i = 0; i + 1 < tags.length; i += 2) {
+            span.tag(tags[i], tags[i + 1]);
+        }
+        return span.start();
+    }
+
+    /**
+     * 진행 중인 단계 (close 시 현재 span 지정을 해제하고 span 종료)
+     */
+    public static final class Stage implements AutoCloseable {
+
+        private final Span span;
+        private final Tracer.SpanInScope scope;
+
+        private Stage(Span span, Tracer.SpanInScope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+
+        public Stage tag(String key, String value) {
+            span.tag(key, value);
+            return this;
+        }
+
+        public void error(Throwable e) {
+            span.error(e);
+        }
+
+        @Override
+        public void close() {
+            if (scope != null) {
+                scope.close();
+            }
+            span.end();
+        }
+    }
+}
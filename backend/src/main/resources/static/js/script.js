@@ -7,6 +7,7 @@
 let isLoading = false;
 let currentUserEmail = '';  // *** 전역 사용자 이메일 상태 ***
 let attachedImageFile = null; // *** 첨부된 이미지 파일 ***
+let attachedSourceS3Key = null; // *** 재편집할 기존 이미지의 S3 키 (서버에서 직접 로드) ***
 
 /**
  * 전역으로 사용자 이메일 설정
@@ -45,6 +46,7 @@ function handleImageAttachment(event) {
     }
 
     attachedImageFile = file;
+    attachedSourceS3Key = null;
 
     const statusDiv = document.getElementById('attachmentStatus');
     const fileNameSpan = document.getElementById('attachmentFileName');
@@ -99,6 +101,7 @@ function handleImageAttachment(event) {
  */
 function removeAttachment() {
     attachedImageFile = null;
+    attachedSourceS3Key = null;
     document.getElementById('attachImage').value = '';
     document.getElementById('attachmentStatus').classList.add('hidden');
 
@@ -159,15 +162,21 @@ function openImageInNewTab() {
  * S3 키를 기반으로 새 이미지 생성 페이지로 이동
  * 이미지를 자동으로 첨부된 상태로 메인 페이지로 이동
  * @param {string} s3Key - 첨부할 이미지의 S3 키
+ * @param {string} [previewUrl] - 첨부 미리보기에 표시할 URL (썸네일 등 이미 받은 표시용 이미지)
  */
-function generateWithImage(s3Key) {
+function generateWithImage(s3Key, previewUrl) {
     if (!s3Key) {
         showAlert('이미지 정보를 찾을 수 없습니다.');
         return;
     }
 
-    // S3 키를 세션 스토리지에 저장하고 메인 페이지로 이동
+    // S3 키와 미리보기 URL을 세션 스토리지에 저장하고 메인 페이지로 이동
     sessionStorage.setItem('attachImageS3Key', s3Key);
+    if (previewUrl) {
+        sessionStorage.setItem('attachImagePreviewUrl', previewUrl);
+    } else {
+        sessionStorage.removeItem('attachImagePreviewUrl');
+    }
     window.location.href = '/';
 }
 
@@ -176,78 +185,60 @@ function generateWithImage(s3Key) {
  */
 function checkAndAttachImageFromSession() {
     const s3Key = sessionStorage.getItem('attachImageS3Key');
+    const previewUrl = sessionStorage.getItem('attachImagePreviewUrl');
     if (!s3Key) return;
 
     // 세션 스토리지 클리어
     sessionStorage.removeItem('attachImageS3Key');
+    sessionStorage.removeItem('attachImagePreviewUrl');
 
-    // 서버의 /download/ 엔드포인트를 통해 이미지 fetch (CORS 문제 회피)
-    const downloadUrl = '/download/' + encodeURIComponent(s3Key);
-
-    fetch(downloadUrl)
-        .then(response => {
-            if (!response.ok) throw new Error('이미지를 불러올 수 없습니다.');
-            return response.blob();
-        })
-        .then(blob => {
-            // Blob을 File 객체로 변환
-            const fileName = 'reference_image.' + (blob.type.split('/')[1] || 'jpg');
-            const file = new File([blob], fileName, { type: blob.type });
-
-            // 파일 크기 확인 (10MB 제한)
-            const maxSize = 10 * 1024 * 1024;
-            if (file.size > maxSize) {
-                showAlert('파일 크기가 너무 큽니다. (최대 10MB)');
-                return;
-            }
-
-            // attachedImageFile 전역 변수에 설정
-            attachedImageFile = file;
+    // 이미지 바이트는 브라우저로 받지 않고 S3 키만 보관 (생성 요청 시 서버가 캐시/S3에서 직접 로드)
+    attachedImageFile = null;
+    attachedSourceS3Key = s3Key;
 
-            // UI 업데이트
-            const statusDiv = document.getElementById('attachmentStatus');
-            const fileNameSpan = document.getElementById('attachmentFileName');
-            const imagePreview = document.getElementById('imagePreview');
+    // UI 업데이트
+    const statusDiv = document.getElementById('attachmentStatus');
+    const fileNameSpan = document.getElementById('attachmentFileName');
+    const imagePreview = document.getElementById('imagePreview');
 
-            if (imagePreview) {
-                // 미리보기는 서버 다운로드 URL 사용
-                imagePreview.src = downloadUrl;
-            }
-            if (fileNameSpan) {
-                fileNameSpan.textContent = `📎 ${fileName}`;
-            }
-            if (statusDiv) {
-                statusDiv.classList.remove('hidden');
-            }
+    if (imagePreview) {
+        // 미리보기는 목록에서 받은 썸네일/표시용 URL만 사용 (원본을 /download로 다시 받지 않음)
+        if (previewUrl) {
+            imagePreview.src = previewUrl;
+        } else {
+            imagePreview.removeAttribute('src');
+        }
+    }
+    if (fileNameSpan) {
+        fileNameSpan.textContent = `📎 ${s3Key}`;
+    }
+    if (statusDiv) {
+        statusDiv.classList.remove('hidden');
+    }
 
-            // 업로드 버튼 상태 변경
-            const uploadIcon = document.getElementById('uploadIcon');
-            const uploadText = document.getElementById('uploadText');
-            const uploadHint = document.getElementById('uploadHint');
-            const uploadBtn = document.getElementById('uploadBtn');
+    // 업로드 버튼 상태 변경
+    const uploadIcon = document.getElementById('uploadIcon');
+    const uploadText = document.getElementById('uploadText');
+    const uploadHint = document.getElementById('uploadHint');
+    const uploadBtn = document.getElementById('uploadBtn');
 
-            if (uploadIcon) {
-                uploadIcon.innerHTML = '<path stroke-linecap="round" stroke-linejoin="round" stroke-width="2" d="M5 13l4 4L19 7"/>';
-                uploadIcon.classList.remove('text-warm-400', 'group-hover:text-accent');
-                uploadIcon.classList.add('text-green-500', 'group-hover:text-green-600');
-            }
-            if (uploadText) {
-                uploadText.textContent = '이미지 첨부됨 (클릭하여 변경)';
-                uploadText.classList.remove('text-warm-600', 'group-hover:text-accent');
-                uploadText.classList.add('text-green-600', 'group-hover:text-green-700');
-            }
-            if (uploadHint) {
-                uploadHint.textContent = '다른 이미지로 변경할 수 있습니다';
-            }
-            if (uploadBtn) {
-                uploadBtn.classList.remove('border-warm-300', 'hover:border-accent');
-                uploadBtn.classList.add('border-green-300', 'bg-green-50', 'hover:border-green-400', 'hover:bg-green-100');
-            }
-        })
-        .catch(error => {
-            console.error('이미지 첨부 실패:', error);
-            showAlert('이미지를 자동으로 첨부할 수 없습니다: ' + error.message);
-        });
+    if (uploadIcon) {
+        uploadIcon.innerHTML = '<path stroke-linecap="round" stroke-linejoin="round" stroke-width="2" d="M5 13l4 4L19 7"/>';
+        uploadIcon.classList.remove('text-warm-400', 'group-hover:text-accent');
+        uploadIcon.classList.add('text-green-500', 'group-hover:text-green-600');
+    }
+    if (uploadText) {
+        uploadText.textContent = '이미지 첨부됨 (클릭하여 변경)';
+        uploadText.classList.remove('text-warm-600', 'group-hover:text-accent');
+        uploadText.classList.add('text-green-600', 'group-hover:text-green-700');
+    }
+    if (uploadHint) {
+        uploadHint.textContent = '다른 이미지로 변경할 수 있습니다';
+    }
+    if (uploadBtn) {
+        uploadBtn.classList.remove('border-warm-300', 'hover:border-accent');
+        uploadBtn.classList.add('border-green-300', 'bg-green-50', 'hover:border-green-400', 'hover:bg-green-100');
+    }
 }
 
 // ==================== DOM Manipulation Functions ====================
@@ -364,66 +355,51 @@ function showLoading(event) {
     // 로딩 표시
     loadingDiv.style.display = 'block';
 
-    const userEmail = getCurrentUserEmail();
-
     // *** 통합: 항상 FormData 사용 (첨부 파일이 있으면 multipart, 없으면 urlencoded) ***
     const formData = new FormData();
     formData.append('prompt', prompt);
-    formData.append('email', userEmail);
     if (attachedImageFile) {
         formData.append('attachImage', attachedImageFile);
+    } else if (attachedSourceS3Key) {
+        formData.append('sourceS3Key', attachedSourceS3Key);
     }
 
+    // 1. 생성 작업 등록 (서버는 작업 ID를 즉시 반환)
     fetch('/generate', {
         method: 'POST',
         body: formData
     })
-        .then(response => {
-            if (!response.ok) {
-                throw new Error(`HTTP Error: ${response.status} ${response.statusText}`);
-            }
-            // 서버에서 렌더링된 전체 HTML을 텍스트로 받음
-            return response.text();
-        })
-        .then(html => {
-            // 1. 응답 HTML에서 데이터 추출을 위해 임시 DOM 요소 생성
-            const parser = new DOMParser();
-            const doc = parser.parseFromString(html, 'text/html');
-            const body = doc.body;
-
-            if (!body) {
-                throw new Error('응답 HTML이 유효하지 않습니다');
+        .then(response => response.json().then(data => {
+            if (!response.ok || !data.jobId) {
+                throw new Error(data.message || `HTTP Error: ${response.status} ${response.statusText}`);
             }
-
-            // 2. 임시 DOM에서 서버가 ModelAttribute로 렌더링한 데이터 추출
-            // 이 데이터들은 Mustache가 렌더링 시 body 태그에 data-속성으로 넣어준 값입니다.
-            const success = body.getAttribute('data-success');
-            const imageUrl = body.getAttribute('data-image-url');
-            const displayUrl = body.getAttribute('data-display-url');
-            const s3Key = body.getAttribute('data-s3-key');
-            const message = body.getAttribute('data-message');
-            const isQuotaExceeded = body.getAttribute('data-is-quota-exceeded');
-            const promptValue = doc.getElementById('prompt') ? doc.getElementById('prompt').value : '';
-
+            return data.jobId;
+        }))
+        // 2. 작업이 끝날 때까지 진행 상황 수신
+        .then(jobId => watchGenerationJob(jobId))
+        .then(data => {
             // DOM 요소 존재 검증
             const resultImage = document.getElementById('resultImage');
             const downloadBtn = document.getElementById('downloadBtn');
             const resultDiv = document.getElementById('resultDiv');
-            const promptField = document.getElementById('prompt');
 
             // 3. UI 업데이트
-            if (success === 'true' && imageUrl && resultImage && downloadBtn && resultDiv) {
+            if (data.success === true && data.imageUrl && resultImage && downloadBtn && resultDiv) {
                 // 성공
-                resultImage.src = imageUrl;
-                resultImage.setAttribute('data-s3-key', s3Key);
-                resultImage.setAttribute('data-display-url', displayUrl || imageUrl);
-                downloadBtn.href = '/download/' + s3Key;
+                resultImage.src = data.imageUrl;
+                resultImage.setAttribute('data-s3-key', data.s3Key);
+                updateSaveFavoriteButton(false);
+                resultImage.setAttribute('data-display-url', data.displayUrl || data.imageUrl);
+                downloadBtn.href = '/download/' + data.s3Key;
                 resultDiv.style.display = 'block';
-            } else if (success === 'false') {
+            } else if (data.success === false) {
                 // 실패 (서버에서 success=false로 응답한 경우)
-                showAlert(message || '이미지 생성에 실패했습니다.', false);
+                if (data.phaseMessage) {
+                    console.warn("⚠️ 모델이 이미지 대신 텍스트를 반환함:", data.phaseMessage);
+                }
+                showAlert(data.message || '이미지 생성에 실패했습니다.', false);
 
-                if (isQuotaExceeded === 'true') {
+                if (data.isQuotaExceeded === true) {
                     console.warn("⚠️ API 할당량 초과!");
                 }
             } else {
@@ -431,8 +407,9 @@ function showLoading(event) {
             }
 
             // 입력값 복원
+            const promptField = document.getElementById('prompt');
             if (promptField) {
-                promptField.value = promptValue || prompt;
+                promptField.value = data.prompt || prompt;
             }
         })
         .catch(error => {
@@ -453,6 +430,97 @@ function showLoading(event) {
         });
 }
 
+/**
+ * 진행 단계별 로딩 화면 메시지
+ */
+const GENERATION_PHASE_MESSAGES = {
+    QUEUED: '대기열에서 순서를 기다리고 있습니다.',
+    CALLING_MODEL: 'AI가 멋진 이미지를 만들고 있습니다. 잠시만 기다려주세요.',
+    TEXT_FALLBACK: 'AI가 이미지 대신 텍스트로 응답했습니다.',
+    UPLOADING: '생성된 이미지를 저장하고 있습니다.',
+    SAVED: '이미지 저장 완료!'
+};
+
+/**
+ * 진행 단계 메시지를 로딩 화면에 표시
+ */
+function showGenerationPhase(data) {
+    const loadingMessage = document.getElementById('loadingMessage');
+    if (!loadingMessage || !GENERATION_PHASE_MESSAGES[data.phase]) return;
+
+    let message = GENERATION_PHASE_MESSAGES[data.phase];
+    if (data.phase === 'QUEUED' && data.queueSize > 0) {
+        message += ` (앞선 작업 ${data.queueSize}개)`;
+    }
+    loadingMessage.textContent = message;
+}
+
+/**
+ * 생성 작업 진행 상황을 SSE로 수신하여 완료(SUCCEEDED/FAILED)되면 결과 반환
+ * EventSource를 지원하지 않거나 스트림이 끊기면 상태 조회(polling)로 전환
+ * @param {string} jobId - 생성 작업 ID
+ * @returns {Promise<Object>} 최종 작업 상태
+ */
+function watchGenerationJob(jobId) {
+    if (typeof EventSource === 'undefined') {
+        return pollGenerationJob(jobId);
+    }
+
+    return new Promise((resolve, reject) => {
+        const source = new EventSource('/generate/jobs/' + encodeURIComponent(jobId) + '/events');
+        let finished = false;
+
+        source.addEventListener('progress', event => {
+            const data = JSON.parse(event.data);
+            showGenerationPhase(data);
+            if (data.status === 'SUCCEEDED' || data.status === 'FAILED') {
+                finished = true;
+                source.close();
+                resolve(data);
+            }
+        });
+
+        source.onerror = () => {
+            source.close();
+            if (!finished) {
+                pollGenerationJob(jobId).then(resolve, reject);
+            }
+        };
+    });
+}
+
+/**
+ * 생성 작업 상태를 주기적으로 조회
+ * 작업이 SUCCEEDED 또는 FAILED가 되면 최종 상태로 resolve
+ * @param {string} jobId - 생성 작업 ID
+ * @returns {Promise<Object>} 최종 작업 상태
+ */
+function pollGenerationJob(jobId) {
+    const pollIntervalMillis = 2000;
+
+    return new Promise((resolve, reject) => {
+        const poll = () => {
+            fetch('/generate/jobs/' + encodeURIComponent(jobId))
+                .then(response => {
+                    if (!response.ok) {
+                        throw new Error(`HTTP Error: ${response.status} ${response.statusText}`);
+                    }
+                    return response.json();
+                })
+                .then(data => {
+                    showGenerationPhase(data);
+                    if (data.status === 'SUCCEEDED' || data.status === 'FAILED') {
+                        resolve(data);
+                    } else {
+                        setTimeout(poll, pollIntervalMillis);
+                    }
+                })
+                .catch(reject);
+        };
+        setTimeout(poll, pollIntervalMillis);
+    });
+}
+
 // ==================== Favorite Management ====================
 
 /**
@@ -487,8 +555,11 @@ function saveFavorite() {
         return;
     }
 
-    const userEmail = getCurrentUserEmail();
+    const saveFavoriteBtn = document.getElementById('saveFavoriteBtn');
+    const saved = !(saveFavoriteBtn && saveFavoriteBtn.dataset.saved === 'true');
+    if (saveFavoriteBtn) saveFavoriteBtn.disabled = true;
 
+    // 현재 상태를 뒤집는 토글이 아니라 원하는 상태(saved)를 보내므로 중복 요청에도 결과가 같음
     fetch('/user/save', {
         method: 'POST',
         headers: {
@@ -496,7 +567,7 @@ function saveFavorite() {
         },
         body: JSON.stringify({
             s3Key: s3Key.trim(),
-            email: userEmail
+            saved: saved
         })
     })
     .then(response => {
@@ -507,6 +578,7 @@ function saveFavorite() {
     })
     .then(data => {
         if (data.success) {
+            updateSaveFavoriteButton(data.saved);
             showAlert('✅ ' + data.message, true);
         } else {
             showAlert('❌ ' + (data.message || '저장에 실패했습니다'), false);
@@ -515,9 +587,24 @@ function saveFavorite() {
     .catch(error => {
         console.error('Error:', error);
         showAlert('요청 중 오류가 발생했습니다: ' + error.message, false);
+    })
+    .finally(() => {
+        if (saveFavoriteBtn) saveFavoriteBtn.disabled = false;
     });
 }
 
+/**
+ * 결과 이미지의 즐겨찾기 버튼을 저장 상태에 맞게 표시
+ */
+function updateSaveFavoriteButton(saved) {
+    const saveFavoriteBtn = document.getElementById('saveFavoriteBtn');
+    if (!saveFavoriteBtn) return;
+
+    saveFavoriteBtn.dataset.saved = saved ? 'true' : 'false';
+    const label = saveFavoriteBtn.querySelector('[data-role="favorite-label"]');
+    if (label) label.textContent = saved ? '저장됨' : '즐겨찾기';
+}
+
 
 // ==================== Drag and Drop ====================
 
@@ -559,7 +646,7 @@ function highlight(element) {
 
 function unhighlight(element) {
     element.classList.remove('border-accent', 'bg-accent/10');
-    if (!attachedImageFile) {
+    if (!attachedImageFile && !attachedSourceS3Key) {
         element.classList.add('border-warm-300');
     }
 }
@@ -646,6 +733,7 @@ window.addEventListener('load', function() {
                 if (s3Key) {
                     resultImage.setAttribute('data-s3-key', s3Key);
                     downloadBtn.href = '/download/' + s3Key;
+                    updateSaveFavoriteButton(false);
                 }
                 if (displayUrl) {
                     resultImage.setAttribute('data-display-url', displayUrl);
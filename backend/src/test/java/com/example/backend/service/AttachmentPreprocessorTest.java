@@ -0,0 +1,209 @@
+package com.example.backend.service;
+
+import com.example.backend.util.ImageCodecUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AttachmentPreprocessor 검증 테스트
+ */
+@DisplayName("AttachmentPreprocessor 검증 테스트")
+public class AttachmentPreprocessorTest {
+
+    private static final int MAX_EDGE = 100;
+
+    // 400x200 단색 무손실(VP8L) WebP
+    private static final byte[] WEBP_400X200 = Base64.getDecoder().decode("UklGRhgAAABXRUJQVlA4TAwAAAAvj8ExAChggQrS/wA=");
+
+    @TempDir
+    Path directory;
+
+    private AttachmentPreprocessor preprocessor;
+
+    @BeforeEach
+    public void setUp() {
+        preprocessor = new AttachmentPreprocessor(directory, MAX_EDGE, 0.9f);
+        preprocessor.init();
+    }
+
+    @Test
+    @DisplayName("긴 변이 maxEdge를 넘으면 비율을 유지하며 maxEdge 이하로 축소")
+    public void testResizeBounds() throws Exception {
+        byte[] original = encode(image(400, 200, BufferedImage.TYPE_INT_RGB, 0), "png");
+
+        AttachmentPreprocessor.PreparedAttachment prepared = prepare(original, "image/png");
+
+        BufferedImage resized = decode(prepared.data());
+        assertEquals("image/jpeg", prepared.mimeType());
+        assertEquals(MAX_EDGE, Math.max(resized.getWidth(), resized.getHeight()));
+        assertEquals(50, resized.getHeight());
+    }
+
+    @Test
+    @DisplayName("투명 영역이 있는 이미지는 축소 후에도 PNG로 유지")
+    public void testAlphaKeepsPng() throws Exception {
+        byte[] original = encode(image(300, 300, BufferedImage.TYPE_INT_ARGB, 0), "png");
+
+        AttachmentPreprocessor.PreparedAttachment prepared = prepare(original, "image/png");
+
+        BufferedImage resized = decode(prepared.data());
+        assertEquals("image/png", prepared.mimeType());
+        assertTrue(resized.getColorModel().hasAlpha());
+        assertTrue(resized.getWidth() <= MAX_EDGE);
+    }
+
+    @Test
+    @DisplayName("이미 조건을 만족하는 JPEG/PNG는 디코딩 없이 원본을 그대로 사용")
+    public void testCompliantPassthrough() throws Exception {
+        byte[] jpeg = encode(image(80, 60, BufferedImage.TYPE_INT_RGB, 0), "jpg");
+        byte[] png = encode(image(100, 40, BufferedImage.TYPE_INT_ARGB, 0), "png");
+
+        AttachmentPreprocessor.PreparedAttachment preparedJpeg = prepare(jpeg, "application/octet-stream");
+        AttachmentPreprocessor.PreparedAttachment preparedPng = prepare(png, "image/png");
+
+        assertArrayEquals(jpeg, preparedJpeg.data());
+        assertEquals("image/jpeg", preparedJpeg.mimeType());
+        assertArrayEquals(png, preparedPng.data());
+        assertEquals("image/png", preparedPng.mimeType());
+    }
+
+    @Test
+    @DisplayName("재인코딩 결과가 원본보다 작지 않으면 원본을 사용")
+    public void testKeepsOriginalWhenNotSmaller() throws Exception {
+        // 노이즈 이미지를 아주 낮은 품질로 저장하면 축소 후 기본 품질로 다시 저장한 결과가 더 큼
+        byte[] original = encodeJpeg(image(120, 120, BufferedImage.TYPE_INT_RGB, 42), 0.05f);
+
+        AttachmentPreprocessor.PreparedAttachment prepared = prepare(original, "image/jpeg");
+
+        assertArrayEquals(original, prepared.data());
+        assertEquals("image/jpeg", prepared.mimeType());
+    }
+
+    @Test
+    @DisplayName("Gemini가 받지 않는 형식은 크기가 작아도 재인코딩")
+    public void testUnsupportedFormatReencoded() throws Exception {
+        byte[] original = encode(image(50, 50, BufferedImage.TYPE_INT_RGB, 0), "bmp");
+
+        AttachmentPreprocessor.PreparedAttachment prepared = prepare(original, "image/bmp");
+
+        assertEquals("image/jpeg", prepared.mimeType());
+        assertEquals(50, decode(prepared.data()).getWidth());
+    }
+
+    @Test
+    @DisplayName("WebP도 헤더에서 크기를 읽고 축소할 수 있도록 디코딩")
+    public void testWebpDecodable() throws Exception {
+        ImageCodecUtils.ImageInfo info = ImageCodecUtils.readInfo(new ByteArrayInputStream(WEBP_400X200));
+
+        assertNotNull(info, "WebP ImageIO 플러그인이 없으면 원본 크기 그대로 전송됨");
+        assertEquals("image/webp", info.mimeType());
+        assertEquals(400, info.longEdge());
+
+        BufferedImage image = ImageCodecUtils.read(new ByteArrayInputStream(WEBP_400X200), MAX_EDGE);
+        assertNotNull(image);
+        assertTrue(image.getWidth() <= 400 && image.getHeight() <= 200);
+    }
+
+    @Test
+    @DisplayName("디코딩할 수 없는 데이터는 원본과 전달받은 MIME 타입을 그대로 사용")
+    public void testUndecodablePassthrough() throws Exception {
+        byte[] original = {1, 2, 3, 4};
+
+        AttachmentPreprocessor.PreparedAttachment prepared = prepare(original, "image/heic");
+
+        assertArrayEquals(original, prepared.data());
+        assertEquals("image/heic", prepared.mimeType());
+    }
+
+    @Test
+    @DisplayName("multipart 첨부 파일은 작업 소유 임시 파일로 옮기고, discard하면 삭제")
+    public void testStageAndDiscard() throws Exception {
+        byte[] original = encode(image(80, 60, BufferedImage.TYPE_INT_RGB, 0), "png");
+        MockMultipartFile file = new MockMultipartFile("attachImage", "a.png", "image/png", original);
+
+        AttachmentPreprocessor.StagedAttachment staged = preprocessor.stage(file);
+
+        assertTrue(staged.file().startsWith(directory));
+        assertArrayEquals(original, Files.readAllBytes(staged.file()));
+        assertEquals("image/png", staged.contentType());
+
+        preprocessor.discard(staged);
+        assertFalse(Files.exists(staged.file()));
+    }
+
+    @Test
+    @DisplayName("재시작 시 이전 실행에서 남은 임시 파일 삭제")
+    public void testInitDeletesLeftovers() throws Exception {
+        Path leftover = Files.write(preprocessor.newTempFile(), new byte[]{1});
+
+        preprocessor.init();
+
+        assertFalse(Files.exists(leftover));
+    }
+
+    private AttachmentPreprocessor.PreparedAttachment prepare(byte[] original, String contentType) throws IOException {
+        Path file = Files.write(preprocessor.newTempFile(), original);
+        return preprocessor.prepare(new AttachmentPreprocessor.StagedAttachment(file, contentType));
+    }
+
+    /**
+     * seed가 0이면 그라데이션, 아니면 무작위 노이즈 이미지
+     */
+    private static BufferedImage image(int width, int height, int type, long seed) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = seed == 0 ? (x * 255 / width) << 16 | (y * 255 / height) << 8 : random.nextInt(0xFFFFFF);
+                int alpha = type == BufferedImage.TYPE_INT_ARGB && x < width / 2 ? 0x80 : 0xFF;
+                image.setRGB(x, y, alpha << 24 | rgb);
+            }
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(ImageIO.write(image, format, out));
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] data) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(data));
+    }
+}
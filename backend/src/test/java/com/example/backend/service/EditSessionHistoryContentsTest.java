@@ -0,0 +1,79 @@
+package com.example.backend.service;
+
+import com.google.genai.types.Blob;
+import com.google.genai.types.Content;
+import com.google.genai.types.Part;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 편집 세션 대화 기록(ImgService.toHistoryContents) 전송 크기 검증 테스트
+ */
+@DisplayName("편집 세션 대화 기록 전송 크기 검증 테스트")
+public class EditSessionHistoryContentsTest {
+
+    private static final int MAX_EDGE = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("이미지 Part는 전처리된 현재 편집 대상 이미지 하나만 보내고 이전 턴은 텍스트로 대신함")
+    public void testOnlyLatestPreparedImageSent() throws Exception {
+        byte[] original = png(1024, 768);
+        AttachmentPreprocessor preprocessor = new AttachmentPreprocessor(directory, MAX_EDGE, 0.9f);
+        preprocessor.init();
+        Path file = preprocessor.newTempFile();
+        Files.write(file, original);
+        AttachmentPreprocessor.PreparedAttachment prepared =
+                preprocessor.prepare(new AttachmentPreprocessor.StagedAttachment(file, "image/png"));
+
+        List<EditSessionStore.Turn> history = List.of(
+                new EditSessionStore.Turn("고양이", "1_cat.png"),
+                new EditSessionStore.Turn("모자 추가", "2_cat.png"),
+                new EditSessionStore.Turn("배경 변경", "3_cat.png"));
+
+        List<Content> contents = ImgService.toHistoryContents(history,
+                Part.fromBytes(prepared.data(), prepared.mimeType()));
+
+        List<byte[]> images = contents.stream()
+                .flatMap(content -> content.parts().orElseThrow().stream())
+                .flatMap(part -> part.inlineData().stream())
+                .map(blob -> blob.data().orElseThrow())
+                .toList();
+        assertEquals(6, contents.size());
+        assertEquals(1, images.size());
+        assertEquals(prepared.data().length, images.get(0).length);
+        assertTrue(images.get(0).length < original.length / 4,
+                "전송 크기 " + images.get(0).length + " bytes, 원본 " + original.length + " bytes");
+
+        Part lastModelPart = contents.get(5).parts().orElseThrow().get(0);
+        assertTrue(lastModelPart.inlineData().flatMap(Blob::data).isPresent());
+        Part earlierModelPart = contents.get(3).parts().orElseThrow().get(0);
+        assertEquals("[요청에 따라 생성한 이미지: 2_cat.png]", earlierModelPart.text().orElseThrow());
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(0);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
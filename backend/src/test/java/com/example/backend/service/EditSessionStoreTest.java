@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EditSessionStore 검증 테스트
+ */
+@DisplayName("EditSessionStore 검증 테스트")
+public class EditSessionStoreTest {
+
+    private static final String USER = "user@example.com";
+
+    @Test
+    @DisplayName("마지막 결과 이미지를 편집하면 이전 턴을 이어서 반환")
+    public void testContinueSession() {
+        EditSessionStore store = new EditSessionStore(6, 8192, Duration.ofMinutes(30), 10);
+
+        store.record(USER, null, new EditSessionStore.Turn("고양이", "a.png"));
+        store.record(USER, "a.png", new EditSessionStore.Turn("배경을 파랗게", "b.png"));
+
+        List<EditSessionStore.Turn> history = store.history(USER, "b.png");
+        assertEquals(2, history.size());
+        assertEquals("고양이", history.get(0).prompt());
+        assertEquals("b.png", history.get(1).s3Key());
+    }
+
+    @Test
+    @DisplayName("다른 이미지를 편집하면 이전 기록 없이 새 세션 시작")
+    public void testOtherSourceStartsNewSession() {
+        EditSessionStore store = new EditSessionStore(6, 8192, Duration.ofMinutes(30), 10);
+
+        store.record(USER, null, new EditSessionStore.Turn("고양이", "a.png"));
+        assertTrue(store.history(USER, "other.png").isEmpty());
+
+        store.record(USER, "other.png", new EditSessionStore.Turn("강아지", "c.png"));
+        assertEquals(List.of(new EditSessionStore.Turn("강아지", "c.png")), store.history(USER, "c.png"));
+    }
+
+    @Test
+    @DisplayName("최대 턴 수와 바이트 수를 넘으면 오래된 턴부터 제거")
+    public void testEvictOldTurns() {
+        EditSessionStore store = new EditSessionStore(2, 8192, Duration.ofMinutes(30), 10);
+        store.record(USER, null, new EditSessionStore.Turn("1", "1.png"));
+        store.record(USER, "1.png", new EditSessionStore.Turn("2", "2.png"));
+        store.record(USER, "2.png", new EditSessionStore.Turn("3", "3.png"));
+
+        List<EditSessionStore.Turn> history = store.history(USER, "3.png");
+        assertEquals(List.of("2", "3"), history.stream().map(EditSessionStore.Turn::prompt).toList());
+
+        EditSessionStore small = new EditSessionStore(6, 20, Duration.ofMinutes(30), 10);
+        small.record(USER, null, new EditSessionStore.Turn("first prompt", "1.png"));
+        small.record(USER, "1.png", new EditSessionStore.Turn("second prompt", "2.png"));
+        assertEquals(1, small.history(USER, "2.png").size());
+    }
+
+    @Test
+    @DisplayName("비회원과 만료된 세션은 기록을 반환하지 않음")
+    public void testAnonymousAndExpired() {
+        EditSessionStore store = new EditSessionStore(6, 8192, Duration.ofMinutes(30), 10);
+        store.record("비회원", null, new EditSessionStore.Turn("고양이", "a.png"));
+        assertTrue(store.history("비회원", "a.png").isEmpty());
+        assertEquals(0, store.getCache().estimatedSize());
+
+        EditSessionStore expired = new EditSessionStore(6, 8192, Duration.ZERO, 10);
+        expired.record(USER, null, new EditSessionStore.Turn("고양이", "a.png"));
+        assertTrue(expired.history(USER, "a.png").isEmpty());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GeminiRateLimiter 검증 테스트
+ * 실제 시간 대신 조작 가능한 시계를 사용
+ */
+@DisplayName("GeminiRateLimiter 검증 테스트")
+public class GeminiRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+
+    /**
+     * 분당 60회(초당 1회), 버스트 2, 최대 대기 10초
+     */
+    private GeminiRateLimiter newLimiter() {
+        return new GeminiRateLimiter(60, 2, TimeUnit.SECONDS.toNanos(10), clock::get);
+    }
+
+    @Test
+    @DisplayName("버스트 용량까지는 대기 없이 허가하고, 이후에는 토큰을 가져가지 않고 다음 토큰까지 남은 시간 반환")
+    public void testBurst() {
+        GeminiRateLimiter limiter = newLimiter();
+
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(0, limiter.tryAcquire());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 토큰 충전")
+    public void testRefill() {
+        GeminiRateLimiter limiter = newLimiter();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals(0, limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire() > 0);
+    }
+
+    @Test
+    @DisplayName("대기 중인 요청 수를 반영한 조기 거절 (예상 대기 시간 포함)")
+    public void testAdmission() {
+        GeminiRateLimiter limiter = newLimiter();
+
+        assertDoesNotThrow(() -> limiter.checkAdmission(5));
+        assertEquals(4_000, limiter.estimateWaitMillis(5));
+
+        ImgService.QuotaExceededException e =
+                assertThrows(ImgService.QuotaExceededException.class, () -> limiter.checkAdmission(20));
+        assertEquals(19_000, e.getRetryAfterMillis());
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간은 대기열 한도 × 토큰 간격 - 정상 속도에서는 대기열 한도 전에는 거절하지 않음")
+    public void testMaxWaitFromQueueDepth() {
+        // 분당 10회(6초 간격), 버스트 2, 대기열 한도 500
+        GeminiRateLimiter limiter = new GeminiRateLimiter(10, 2, 500);
+
+        assertDoesNotThrow(() -> limiter.checkAdmission(499));
+        assertEquals(TimeUnit.SECONDS.toMillis(6 * 498), limiter.estimateWaitMillis(499), 1);
+    }
+
+    @Test
+    @DisplayName("429 수신 시 재시도 시각까지 중단하고 속도를 낮춤")
+    public void testQuotaExceededBackoff() {
+        GeminiRateLimiter limiter = newLimiter();
+
+        limiter.onQuotaExceeded(5_000);
+
+        assertEquals(30.0, limiter.getRequestsPerMinute(), 0.001);
+        // 5초 차단 후 속도가 절반(초당 0.5회)이므로 토큰 1개가 차는 데 2초
+        assertEquals(TimeUnit.SECONDS.toNanos(5) + TimeUnit.SECONDS.toNanos(2), limiter.tryAcquire());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(7));
+        assertEquals(0, limiter.tryAcquire());
+
+        limiter.onSuccess();
+        assertEquals(31.0, limiter.getRequestsPerMinute(), 0.001);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GenerationDeduplicator 검증 테스트
+ * (dedupeWindowSeconds를 0으로 생성하므로 최근 결과 재사용 없이 진행 중인 요청 공유만 검증)
+ */
+@DisplayName("GenerationDeduplicator 검증 테스트")
+public class GenerationDeduplicatorTest {
+
+    private static final int WAITERS = 4;
+    private static final String KEY = GenerationDeduplicator.key("user@example.com", "고양이", "system", null, List.of());
+
+    private final GenerationDeduplicator deduplicator = new GenerationDeduplicator(0);
+    private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("동시에 들어온 동일 요청은 한 번만 호출하고 모든 호출이 같은 결과를 받음")
+    public void testConcurrentCallsShareResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitConcurrently(() -> {
+            calls.incrementAndGet();
+            await(release);
+            return "a.png";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("a.png", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+
+        // 완료된 요청은 진행 중 목록에서 제거되어 다음 호출은 다시 실행됨 (최근 결과 재사용 없음)
+        assertEquals("a.png", deduplicator.execute(KEY, () -> {
+            calls.incrementAndGet();
+            return "a.png";
+        }));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    @DisplayName("할당량 초과 예외는 결과를 기다리던 호출에도 전달")
+    public void testQuotaExceededPropagatesToWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitConcurrently(() -> {
+            await(release);
+            throw new ImgService.QuotaExceededException("할당량 초과", 3000);
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            ImgService.QuotaExceededException cause = assertInstanceOf(ImgService.QuotaExceededException.class, e.getCause());
+            assertEquals(3000, cause.getRetryAfterMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 진행 중 목록에서 제거되어 다음 호출이 다시 실행됨")
+    public void testInFlightClearedAfterFailure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitConcurrently(() -> {
+            await(release);
+            throw new IllegalStateException("업로드 실패");
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("b.png", deduplicator.execute(KEY, () -> {
+            calls.incrementAndGet();
+            return "b.png";
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    @DisplayName("편집 세션의 이전 턴이 다르면 다른 요청 키")
+    public void testHistoryChangesKey() {
+        byte[] attachment = {1, 2, 3};
+        String withoutHistory = GenerationDeduplicator.key("user@example.com", "배경을 파랗게", "system", attachment, List.of());
+        String withHistory = GenerationDeduplicator.key("user@example.com", "배경을 파랗게", "system", attachment,
+                List.of(new EditSessionStore.Turn("고양이", "a.png")));
+        String otherHistory = GenerationDeduplicator.key("user@example.com", "배경을 파랗게", "system", attachment,
+                List.of(new EditSessionStore.Turn("강아지", "a.png")));
+
+        assertNotEquals(withoutHistory, withHistory);
+        assertNotEquals(withHistory, otherHistory);
+        assertEquals(withHistory, GenerationDeduplicator.key("user@example.com", "  배경을   파랗게 ", "system", attachment,
+                List.of(new EditSessionStore.Turn("고양이", "a.png"))));
+    }
+
+    /**
+     * 첫 호출이 generation을 실행하는 동안 나머지 호출이 모두 결과를 기다리기 시작할 때까지 등록
+     * 첫 호출의 generation이 시작되었음을 latch로 확인한 뒤 나머지 호출을 보내고,
+     * 그 스레드들이 모두 결과 대기(WAITING) 상태가 된 뒤 반환 (generation은 release 전까지 끝나지 않아야 함)
+     */
+    private List<Future<String>> submitConcurrently(GenerationDeduplicator.Generation generation) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> deduplicator.execute(KEY, () -> {
+            started.countDown();
+            return generation.generate();
+        })));
+        await(started);
+
+        List<Thread> waiters = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> {
+                waiters.add(Thread.currentThread());
+                return deduplicator.execute(KEY, () -> fail("진행 중인 요청이 있으면 호출되지 않아야 함"));
+            }));
+        }
+        waitUntil(() -> waiters.size() == WAITERS
+                && waiters.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING));
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "대기 시간 초과");
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.backend.service;
+
+import com.example.backend.util.StageTracer;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * GenerationJobService 작업 배정 검증 테스트
+ * 작업은 호출 스레드에서 바로 실행하고(TaskExecutorAdapter), 배정 예약은 직접 실행하여 시간 흐름을 조작
+ */
+@DisplayName("GenerationJobService 작업 배정 검증 테스트")
+public class GenerationJobServiceTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private final List<Runnable> scheduledDispatches = new ArrayList<>();
+
+    private ImgService imgService;
+    private AttachmentPreprocessor attachmentPreprocessor;
+    private GenerationJobService service;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // 분당 60회(초당 1회), 버스트 1, 최대 대기 1시간
+        GeminiRateLimiter rateLimiter = new GeminiRateLimiter(60, 1, TimeUnit.HOURS.toNanos(1), clock::get);
+
+        imgService = mock(ImgService.class);
+        when(imgService.generateImage(anyString(), anyString(), any())).thenReturn("a.png");
+        attachmentPreprocessor = mock(AttachmentPreprocessor.class);
+
+        TaskScheduler taskScheduler = mock(TaskScheduler.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            scheduledDispatches.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        });
+
+        service = new GenerationJobService(imgService, attachmentPreprocessor, rateLimiter,
+                new DownstreamBulkhead(8, 50, 30), new TaskExecutorAdapter(Runnable::run), taskScheduler, new StageTracer(Tracer.NOOP));
+        ReflectionTestUtils.setField(service, "maxPendingJobs", 10);
+        ReflectionTestUtils.setField(service, "batchMaxVariants", 4);
+        ReflectionTestUtils.setField(service, "batchMaxSize", 8);
+    }
+
+    @Test
+    @DisplayName("토큰이 없으면 거절하지 않고 QUEUED로 두었다가 토큰이 생기는 시각에 순서대로 실행")
+    public void testQueuedUntilTokenAvailable() throws Exception {
+        GenerationJob first = submit();
+        GenerationJob second = submit();
+        GenerationJob third = submit();
+
+        assertEquals(GenerationJob.Status.SUCCEEDED, first.getStatus());
+        assertEquals(GenerationJob.Status.QUEUED, second.getStatus());
+        assertEquals(GenerationJob.Status.QUEUED, third.getStatus());
+        // 이미 예약된 배정이 있으면 다시 예약하지 않음
+        assertEquals(1, scheduledDispatches.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        scheduledDispatches.get(0).run();
+
+        assertEquals(GenerationJob.Status.SUCCEEDED, second.getStatus());
+        assertEquals(GenerationJob.Status.QUEUED, third.getStatus());
+        assertEquals(2, scheduledDispatches.size());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        scheduledDispatches.get(1).run();
+
+        assertEquals(GenerationJob.Status.SUCCEEDED, third.getStatus());
+        assertEquals(2, scheduledDispatches.size());
+    }
+
+    @Test
+    @DisplayName("대기열은 미완료 작업 수 한도까지 받고 그 이후에만 거절")
+    public void testRejectOnlyAtMaxPending() throws Exception {
+        submit();   // 버스트 토큰으로 바로 완료
+        for (int i = 0; i < 10; i++) {
+            assertEquals(GenerationJob.Status.QUEUED, submit().getStatus());
+        }
+
+        assertThrows(RejectedExecutionException.class, this::submit);
+    }
+
+    @Test
+    @DisplayName("배치 변형은 다른 변형을 기다리지 않고 저장되는 대로 완료 처리")
+    public void testBatchVariantSavedAsItCompletes() throws Exception {
+        when(imgService.generateVariant(anyString(), anyString(), any(), any(), any())).thenReturn("v1.png", "v2.png");
+
+        GenerationBatch batch = service.submitBatch(List.of("고양이"), 2, EMAIL, EMAIL, null);
+
+        assertEquals(GenerationJob.Status.SUCCEEDED, batch.getJobs().get(0).getStatus());
+        assertEquals("v1.png", batch.getJobs().get(0).getS3Key());
+        assertEquals(GenerationJob.Status.QUEUED, batch.getJobs().get(1).getStatus());
+        assertFalse(batch.isFinished());
+
+        runNextDispatch();
+
+        assertEquals(GenerationJob.Status.SUCCEEDED, batch.getJobs().get(1).getStatus());
+        assertTrue(batch.isFinished());
+        assertEquals(2, batch.getSavedCount());
+    }
+
+    @Test
+    @DisplayName("첨부 이미지 전처리 실패는 한 번만 실행하고 모든 변형 작업에 같은 오류로 전달")
+    public void testPrepareFailureSharedByVariants() throws Exception {
+        when(attachmentPreprocessor.prepare(any())).thenThrow(new IOException("손상된 파일"));
+        AttachmentPreprocessor.StagedAttachment attachment =
+                new AttachmentPreprocessor.StagedAttachment(Path.of("attachment.upload"), "image/png");
+
+        GenerationBatch batch = service.submitBatch(List.of("고양이"), 3, EMAIL, EMAIL, attachment);
+        runNextDispatch();
+        runNextDispatch();
+
+        assertTrue(batch.isFinished());
+        assertEquals(0, batch.getSavedCount());
+        for (GenerationJob job : batch.getJobs()) {
+            assertEquals(GenerationJob.Status.FAILED, job.getStatus());
+            assertEquals("오류 발생: 첨부 이미지를 읽을 수 없습니다.", job.getMessage());
+        }
+        verify(attachmentPreprocessor, times(1)).prepare(any());
+        verify(imgService, never()).generateVariant(anyString(), anyString(), any(), any(), any());
+    }
+
+    /**
+     * 다음 토큰이 생기는 시각으로 시간을 옮기고 마지막으로 예약된 배정을 실행
+     */
+    private void runNextDispatch() {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        scheduledDispatches.get(scheduledDispatches.size() - 1).run();
+    }
+
+    private GenerationJob submit() throws ImgService.QuotaExceededException {
+        return service.submit("고양이", EMAIL, EMAIL, null, null);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ImageDiskCache 검증 테스트
+ */
+@DisplayName("ImageDiskCache 검증 테스트")
+public class ImageDiskCacheTest {
+
+    private static final Duration GRACE = Duration.ofSeconds(60);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 파일부터 제거하고 크기를 다시 계산")
+    public void testLruEviction() {
+        ImageDiskCache cache = newCache(100, GRACE);
+
+        cache.put("a.png", new byte[40], "\"a\"", 0);
+        cache.put("b.png", new byte[40], "\"b\"", 0);
+        assertEquals(80, cache.getTotalBytes());
+
+        // a를 조회하여 b가 가장 오래 사용하지 않은 파일이 됨
+        assertTrue(cache.get("a.png").isPresent());
+        cache.put("c.png", new byte[40], "\"c\"", 0);
+
+        assertEquals(80, cache.getTotalBytes());
+        assertTrue(cache.get("a.png").isPresent());
+        assertTrue(cache.get("b.png").isEmpty());
+        assertTrue(cache.get("c.png").isPresent());
+    }
+
+    @Test
+    @DisplayName("같은 키를 다시 저장하면 이전 크기를 빼고 계산하며, 최대 크기보다 큰 파일은 저장하지 않음")
+    public void testByteAccounting() {
+        ImageDiskCache cache = newCache(100, GRACE);
+
+        cache.put("a.png", new byte[40], "\"a\"", 0);
+        cache.put("a.png", new byte[30], "\"a2\"", 0);
+        assertEquals(30, cache.getTotalBytes());
+        assertEquals("\"a2\"", cache.get("a.png").orElseThrow().eTag());
+
+        cache.put("big.png", new byte[101], "\"big\"", 0);
+        assertTrue(cache.get("big.png").isEmpty());
+        assertEquals(30, cache.getTotalBytes());
+
+        cache.remove("a.png");
+        assertEquals(0, cache.getTotalBytes());
+        assertTrue(cache.get("a.png").isEmpty());
+    }
+
+    @Test
+    @DisplayName("제거된 파일은 유예 시간이 지난 뒤에 삭제")
+    public void testDelayedDelete() {
+        ImageDiskCache cache = newCache(100, GRACE);
+
+        cache.put("a.png", new byte[60], "\"a\"", 0);
+        Path file = cache.get("a.png").orElseThrow().path();
+        cache.put("b.png", new byte[60], "\"b\"", 0);
+
+        assertTrue(cache.get("a.png").isEmpty());
+        assertTrue(Files.exists(file), "전송 중일 수 있으므로 바로 삭제하지 않음");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        cache.purgeEvicted();
+        assertTrue(Files.exists(file));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        cache.purgeEvicted();
+        assertFalse(Files.exists(file));
+        assertFalse(Files.exists(Path.of(file + ".meta")));
+    }
+
+    @Test
+    @DisplayName("삭제 예정인 파일을 다시 저장하면 삭제를 취소")
+    public void testRecommitCancelsDelete() {
+        ImageDiskCache cache = newCache(100, GRACE);
+
+        cache.put("a.png", new byte[60], "\"a\"", 0);
+        cache.put("b.png", new byte[60], "\"b\"", 0);
+        cache.put("a.png", new byte[60], "\"a\"", 0);
+
+        clock.addAndGet(GRACE.toNanos() + 1);
+        cache.purgeEvicted();
+
+        ImageDiskCache.CachedFile cached = cache.get("a.png").orElseThrow();
+        assertTrue(Files.exists(cached.path()));
+        assertEquals(60, cache.getTotalBytes());
+    }
+
+    @Test
+    @DisplayName("재시작 후에도 ETag와 Last-Modified를 복원하고 메타 파일이 없는 파일은 삭제")
+    public void testRestoreMetadata() throws Exception {
+        ImageDiskCache cache = newCache(100, GRACE);
+        cache.put("a.png", new byte[10], "\"etag-a\"", 1_700_000_000_000L);
+        Path stale = Files.write(directory.resolve("0".repeat(64)), new byte[10]);
+
+        ImageDiskCache restarted = newCache(100, GRACE);
+
+        ImageDiskCache.CachedFile cached = restarted.get("a.png").orElseThrow();
+        assertEquals("\"etag-a\"", cached.eTag());
+        assertEquals(1_700_000_000_000L, cached.lastModifiedMillis());
+        assertEquals(10, restarted.getTotalBytes());
+        assertFalse(Files.exists(stale));
+    }
+
+    private ImageDiskCache newCache(long maxBytes, Duration grace) {
+        ImageDiskCache cache = new ImageDiskCache(directory, maxBytes, true, grace, clock::get);
+        cache.init();
+        return cache;
+    }
+}
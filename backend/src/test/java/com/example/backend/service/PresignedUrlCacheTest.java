@@ -0,0 +1,80 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PresignedUrlCache 검증 테스트
+ */
+@DisplayName("PresignedUrlCache 검증 테스트")
+public class PresignedUrlCacheTest {
+
+    @Test
+    @DisplayName("같은 키와 disposition은 캐시된 URL 재사용")
+    public void testCacheHit() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(50));
+        AtomicInteger signCount = new AtomicInteger();
+
+        String first = cache.get("a.png", "inline", () -> "url-" + signCount.incrementAndGet());
+        String second = cache.get("a.png", "inline", () -> "url-" + signCount.incrementAndGet());
+
+        assertEquals(first, second);
+        assertEquals(1, signCount.get());
+        assertEquals(1, cache.getCache().stats().hitCount());
+        assertEquals(1, cache.getCache().stats().missCount());
+    }
+
+    @Test
+    @DisplayName("disposition이 다르면 별도로 서명")
+    public void testDispositionSeparated() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(50));
+
+        String attachment = cache.get("a.png", "attachment", () -> "attachment-url");
+        String inline = cache.get("a.png", "inline", () -> "inline-url");
+
+        assertEquals("attachment-url", attachment);
+        assertEquals("inline-url", inline);
+        assertEquals(2, cache.getCache().estimatedSize());
+    }
+
+    @Test
+    @DisplayName("갱신 시점이 지나면 새로 서명")
+    public void testRefreshAfterExpiry() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ZERO);
+        AtomicInteger signCount = new AtomicInteger();
+
+        cache.get("a.png", "inline", () -> "url-" + signCount.incrementAndGet());
+        String refreshed = cache.get("a.png", "inline", () -> "url-" + signCount.incrementAndGet());
+
+        assertEquals("url-2", refreshed);
+        assertEquals(0, cache.getCache().stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 항목을 제거하여 크기 유지")
+    public void testEviction() {
+        PresignedUrlCache cache = new PresignedUrlCache(2, Duration.ofMinutes(50));
+
+        cache.get("a.png", "inline", () -> "a");
+        cache.get("b.png", "inline", () -> "b");
+        cache.get("c.png", "inline", () -> "c");
+        cache.getCache().cleanUp();   // 제거는 비동기로 처리되므로 바로 반영
+
+        assertEquals(2, cache.getCache().estimatedSize());
+        assertEquals(1, cache.getCache().stats().evictionCount());
+    }
+
+    @Test
+    @DisplayName("서명 실패(null)는 캐시하지 않음")
+    public void testNullNotCached() {
+        PresignedUrlCache cache = new PresignedUrlCache(10, Duration.ofMinutes(50));
+
+        assertNull(cache.get("a.png", "inline", () -> null));
+        assertEquals(0, cache.getCache().estimatedSize());
+    }
+}
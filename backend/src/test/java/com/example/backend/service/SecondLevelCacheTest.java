@@ -0,0 +1,124 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Image;
+import com.example.backend.entity.User;
+import com.example.backend.repository.ImageRepository;
+import com.example.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hibernate 2차 캐시 검증 테스트
+ * 캐시 설정(hibernate.properties, application.conf)은 모든 프로필 공통이므로 테스트 설정에서도 그대로 적용됨
+ * 조회마다 트랜잭션(영속성 컨텍스트)이 끝나도록 테스트 트랜잭션 없이 실행
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Hibernate 2차 캐시 검증 테스트")
+public class SecondLevelCacheTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 8, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        assertTrue(statistics.isStatisticsEnabled());
+    }
+
+    @Test
+    @DisplayName("User는 다른 영속성 컨텍스트에서 다시 조회하면 2차 캐시에서 반환")
+    public void testUserCacheHit() {
+        Long userId = userRepository.save(User.builder().email("cache-hit@example.com").build()).getId();
+        userRepository.findById(userId);
+        statistics.clear();
+
+        User user = userRepository.findById(userId).orElseThrow();
+
+        assertEquals("cache-hit@example.com", user.getEmail());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertTrue(sessionFactory.getCache().containsEntity(User.class, userId));
+    }
+
+    @Test
+    @DisplayName("갤러리 첫 페이지를 다시 조회하면 쿼리 캐시와 Image 2차 캐시에서 반환하여 SQL을 실행하지 않음")
+    public void testRepeatPageViewRunsNoSql() {
+        evictGalleryCaches();
+        for (int i = 0; i < 3; i++) {
+            imageRepository.save(Image.builder().s3Key("page-cache-" + i + "_image.png").build());
+        }
+        List<Long> firstView = ids(imageRepository.findCachedImages(FIRST_PAGE));
+        statistics.clear();
+
+        List<Long> secondView = ids(imageRepository.findCachedImages(FIRST_PAGE));
+
+        assertEquals(firstView, secondView);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryRegionStatistics(ImageRepository.LIST_CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    @DisplayName("저장 수 변경은 목록 쿼리 캐시와 다른 Image 캐시를 무효화하지 않고, 제거한 Image만 다시 조회")
+    public void testSaveCountUpdateKeepsPageCache() {
+        evictGalleryCaches();
+        Image changed = imageRepository.save(Image.builder().s3Key("save-count-changed_image.png").build());
+        Image unchanged = imageRepository.save(Image.builder().s3Key("save-count-unchanged_image.png").build());
+        imageRepository.findCachedImages(FIRST_PAGE);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                imageRepository.incrementSaveCount(changed.getS3KeyHash()));
+        // UserService가 커밋 후 하는 것과 같이 바뀐 이미지만 제거
+        entityManagerFactory.getCache().evict(Image.class, changed.getId());
+        statistics.clear();
+
+        List<Image> page = imageRepository.findCachedImages(FIRST_PAGE);
+
+        assertEquals(1, statistics.getQueryRegionStatistics(ImageRepository.LIST_CACHE_REGION).getHitCount());
+        assertTrue(sessionFactory.getCache().containsEntity(Image.class, unchanged.getId()));
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1L, page.stream()
+                .filter(image -> image.getId().equals(changed.getId()))
+                .findFirst().orElseThrow()
+                .getSaveCount());
+    }
+
+    private void evictGalleryCaches() {
+        sessionFactory.getCache().evictQueryRegion(ImageRepository.LIST_CACHE_REGION);
+        sessionFactory.getCache().evictEntityData(Image.class);
+    }
+
+    private static List<Long> ids(List<Image> images) {
+        return images.stream().map(Image::getId).toList();
+    }
+}
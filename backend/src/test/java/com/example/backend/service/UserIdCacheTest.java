@@ -0,0 +1,100 @@
+package com.example.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserIdCache 검증 테스트
+ */
+@DisplayName("UserIdCache 검증 테스트")
+public class UserIdCacheTest {
+
+    @Test
+    @DisplayName("같은 이메일은 DB를 다시 조회하지 않음")
+    public void testCacheHit() {
+        AtomicInteger loadCount = new AtomicInteger();
+        UserIdCache cache = new UserIdCache(10, email -> {
+            loadCount.incrementAndGet();
+            return Optional.of(1L);
+        });
+
+        assertEquals(Optional.of(1L), cache.resolve("user@example.com"));
+        assertEquals(Optional.of(1L), cache.resolve("user@example.com"));
+
+        assertEquals(1, loadCount.get());
+        assertEquals(1, cache.getCache().stats().hitCount());
+        assertEquals(1, cache.getCache().stats().missCount());
+    }
+
+    @Test
+    @DisplayName("없는 사용자는 캐시하지 않고, 제거한 이메일은 다시 조회")
+    public void testMissingAndInvalidate() {
+        Map<String, Long> users = new HashMap<>();
+        UserIdCache cache = new UserIdCache(10, email -> Optional.ofNullable(users.get(email)));
+
+        assertTrue(cache.resolve("new@example.com").isEmpty());
+        users.put("new@example.com", 7L);
+        assertEquals(Optional.of(7L), cache.resolve("new@example.com"));
+
+        users.put("new@example.com", 8L);
+        cache.invalidate("new@example.com");
+        assertEquals(Optional.of(8L), cache.resolve("new@example.com"));
+        assertTrue(cache.resolve(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("DB 조회 중에 제거한 이메일은 조회 결과로 다시 캐시되지 않음")
+    public void testInvalidateDuringLoad() throws Exception {
+        Map<String, Long> users = new ConcurrentHashMap<>(Map.of("user@example.com", 1L));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        UserIdCache cache = new UserIdCache(10, email -> {
+            if (loadCount.incrementAndGet() == 1) {
+                loading.countDown();
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            return Optional.ofNullable(users.get(email));
+        });
+
+        CompletableFuture<Optional<Long>> first = CompletableFuture.supplyAsync(() -> cache.resolve("user@example.com"));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        users.put("user@example.com", 2L);
+        CompletableFuture<Void> invalidate = CompletableFuture.runAsync(() -> cache.invalidate("user@example.com"));
+        release.countDown();
+
+        assertEquals(Optional.of(1L), first.get(5, TimeUnit.SECONDS));
+        invalidate.get(5, TimeUnit.SECONDS);
+        assertEquals(Optional.of(2L), cache.resolve("user@example.com"));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 항목을 제거하여 크기 유지")
+    public void testEviction() {
+        UserIdCache cache = new UserIdCache(2, email -> Optional.of((long) email.length()));
+
+        cache.resolve("a");
+        cache.resolve("bb");
+        cache.resolve("ccc");
+        cache.getCache().cleanUp();   // 제거는 비동기로 처리되므로 바로 반영
+
+        assertEquals(2, cache.getCache().estimatedSize());
+    }
+}
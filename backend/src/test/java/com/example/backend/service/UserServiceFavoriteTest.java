@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Image;
+import com.example.backend.entity.User;
+import com.example.backend.repository.ImageRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.repository.UserSaveImagesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UserService 즐겨찾기 저장/해제 검증 테스트
+ * INSERT ... SELECT ... NOT EXISTS의 영향 행 수는 MariaDB 동작이므로 실제 MariaDB 컨테이너에서 검증
+ * JDBC URL 옵션(useAffectedRows) 없이 기본 설정으로 실행하여 멱등성이 드라이버 설정에 의존하지 않는지 확인
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(UserService.class)
+@DisplayName("UserService 즐겨찾기 저장/해제 검증 테스트")
+public class UserServiceFavoriteTest {
+
+    private static final String S3_KEY = "favorite-test_generated_image.png";
+
+    @Container
+    @ServiceConnection
+    static MariaDBContainer<?> mariadb = new MariaDBContainer<>("mariadb:11.4");
+
+    @MockitoBean
+    private ImgService imgService;
+
+    @MockitoBean
+    private GenerationMetrics generationMetrics;
+
+    @MockitoBean
+    private UserIdCache userIdCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private UserSaveImagesRepository userSaveImagesRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    public void setUp() {
+        userId = userRepository.save(User.builder().email("user@example.com").build()).getId();
+        imageRepository.saveAndFlush(Image.builder().s3Key(S3_KEY).prompt("테스트 프롬프트").build());
+    }
+
+    @Test
+    @DisplayName("같은 저장 요청을 두 번 보내도 저장 상태가 유지되고 저장 수는 1")
+    public void testDuplicateSaveIsIdempotent() {
+        UserService.FavoriteState first = userService.saveImage(S3_KEY, userId, true);
+        UserService.FavoriteState second = userService.saveImage(S3_KEY, userId, true);
+
+        assertEquals(new UserService.FavoriteState(true, 1), first);
+        assertEquals(new UserService.FavoriteState(true, 1), second);
+        assertEquals(1, userSaveImagesRepository.count());
+    }
+
+    @Test
+    @DisplayName("같은 해제 요청을 두 번 보내도 해제 상태가 유지되고 저장 수는 0")
+    public void testDuplicateUnsaveIsIdempotent() {
+        userService.saveImage(S3_KEY, userId, true);
+
+        UserService.FavoriteState first = userService.saveImage(S3_KEY, userId, false);
+        UserService.FavoriteState second = userService.saveImage(S3_KEY, userId, false);
+
+        assertEquals(new UserService.FavoriteState(false, 0), first);
+        assertEquals(new UserService.FavoriteState(false, 0), second);
+        assertEquals(0, userSaveImagesRepository.count());
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 이미지는 null")
+    public void testUnknownImage() {
+        assertNull(userService.saveImage("unknown.png", userId, true));
+        assertNull(userService.saveImage("unknown.png", userId, false));
+        assertEquals(0, userSaveImagesRepository.count());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.backend.service;
+
+import com.example.backend.util.StageTracer;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 플랫폼 스레드 풀과 가상 스레드 모드의 생성 작업 처리량 비교 벤치마크
+ *
+ * GenerationJobService에 실제 DownstreamBulkhead와 GeminiRateLimiter(작업 배정 시 토큰)를 연결하고,
+ * ImgService는 Gemini 호출(GEMINI 허가)과 S3 업로드(S3 허가)를 sleep으로 흉내 낸 stub으로 대체
+ * - 플랫폼: 운영 기본값과 같은 풀(core 4, max 8, queue 500) → 큐가 차기 전에는 core 스레드 수가 동시성을 제한
+ * - 가상: 작업마다 가상 스레드 → GEMINI 제한(8)이 동시성을 제한
+ *
+ * 실행: ./gradlew benchmark -PjavaVersion=21
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("가상 스레드 처리량 벤치마크")
+public class VirtualThreadBenchmarkTest {
+
+    private static final int JOBS = 200;
+    private static final int GEMINI_MAX_CONCURRENCY = 8;
+    private static final int S3_MAX_CONCURRENCY = 50;
+    private static final long GEMINI_LATENCY_MILLIS = 100;
+    private static final long S3_LATENCY_MILLIS = 20;
+
+    @Test
+    @DisplayName("가상 스레드 모드는 스레드 수가 아닌 자원별 제한까지 동시 처리")
+    public void benchmark() throws Exception {
+        ThreadPoolTaskExecutor platform = new ThreadPoolTaskExecutor();
+        platform.setCorePoolSize(4);
+        platform.setMaxPoolSize(8);
+        platform.setQueueCapacity(500);
+        platform.setThreadNamePrefix("benchmark-platform-");
+        platform.initialize();
+        Result platformResult;
+        try {
+            platformResult = run(platform);
+        } finally {
+            platform.shutdown();
+        }
+
+        SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("benchmark-virtual-");
+        virtual.setVirtualThreads(true);
+        Result virtualResult = run(virtual);
+
+        System.out.printf("platform(core 4): %.1f jobs/s, 최대 Gemini 동시 호출 %d%n",
+                platformResult.throughput(), platformResult.maxGeminiConcurrency());
+        System.out.printf("virtual: %.1f jobs/s, 최대 Gemini 동시 호출 %d%n",
+                virtualResult.throughput(), virtualResult.maxGeminiConcurrency());
+
+        assertEquals(GEMINI_MAX_CONCURRENCY, virtualResult.maxGeminiConcurrency());
+        assertTrue(platformResult.maxGeminiConcurrency() < GEMINI_MAX_CONCURRENCY);
+        assertTrue(virtualResult.throughput() > platformResult.throughput() * 1.5);
+    }
+
+    private Result run(AsyncTaskExecutor executor) throws Exception {
+        DownstreamBulkhead bulkhead = new DownstreamBulkhead(GEMINI_MAX_CONCURRENCY, S3_MAX_CONCURRENCY, 30);
+        // 속도 제한이 결과에 영향을 주지 않도록 충분히 큰 값
+        GeminiRateLimiter rateLimiter = new GeminiRateLimiter(6_000_000, JOBS, Long.MAX_VALUE, System::nanoTime);
+        AtomicInteger geminiActive = new AtomicInteger();
+        AtomicInteger maxGeminiActive = new AtomicInteger();
+
+        ImgService imgService = mock(ImgService.class);
+        when(imgService.generateImage(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            call(bulkhead, DownstreamBulkhead.Downstream.GEMINI, GEMINI_LATENCY_MILLIS, geminiActive, maxGeminiActive);
+            call(bulkhead, DownstreamBulkhead.Downstream.S3, S3_LATENCY_MILLIS, new AtomicInteger(), new AtomicInteger());
+            return UUID.randomUUID() + ".png";
+        });
+
+        // 첨부 이미지 없이 등록하므로 전처리기는 사용되지 않음
+        AttachmentPreprocessor attachmentPreprocessor =
+                new AttachmentPreprocessor(Path.of(System.getProperty("java.io.tmpdir")), 1536, 0.9f);
+        // 토큰이 충분하므로 배정 예약은 사용되지 않음
+        GenerationJobService service = new GenerationJobService(imgService, attachmentPreprocessor,
+                rateLimiter, bulkhead, executor, mock(TaskScheduler.class), new StageTracer(Tracer.NOOP));
+        ReflectionTestUtils.setField(service, "maxPendingJobs", JOBS);
+
+        long start = System.nanoTime();
+        List<GenerationJob> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            jobs.add(service.submit("benchmark " + i, "benchmark@example.com", "benchmark@example.com", null, null));
+        }
+        for (GenerationJob job : jobs) {
+            while (!job.isFinished()) {
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            assertEquals(GenerationJob.Status.SUCCEEDED, job.getStatus());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        return new Result(JOBS / seconds, maxGeminiActive.get());
+    }
+
+    private static void call(DownstreamBulkhead bulkhead, DownstreamBulkhead.Downstream downstream, long latencyMillis,
+                             AtomicInteger active, AtomicInteger maxActive) throws InterruptedException {
+        try (DownstreamBulkhead.Permit permit = bulkhead.acquire(downstream)) {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latencyMillis);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private record Result(double throughput, int maxGeminiConcurrency) {
+    }
+}
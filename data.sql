@@ -25,7 +25,10 @@ CREATE TABLE IF NOT EXISTS `images` (
   `creator_email` varchar(255) DEFAULT NULL,
   `prompt` text DEFAULT NULL,
   `s3key` longtext DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  `s3_key_hash` binary(32) DEFAULT NULL,
+  `save_count` bigint(20) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_images_s3_key_hash` (`s3_key_hash`)
 ) ENGINE=InnoDB AUTO_INCREMENT=386 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 -- 테이블 데이터 data.images:~383 rows (대략적) 내보내기
@@ -419,7 +422,8 @@ INSERT INTO `images` (`id`, `creator_email`, `prompt`, `s3key`) VALUES
 CREATE TABLE IF NOT EXISTS `users` (
   `id` bigint(20) NOT NULL AUTO_INCREMENT,
   `email` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_users_email` (`email`)
 ) ENGINE=InnoDB AUTO_INCREMENT=6 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 
 -- 테이블 데이터 data.users:~5 rows (대략적) 내보내기
@@ -437,6 +441,7 @@ CREATE TABLE IF NOT EXISTS `user_save_images` (
   `image_id` bigint(20) DEFAULT NULL,
   `user_id` bigint(20) DEFAULT NULL,
   PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_user_save_images_user_image` (`user_id`,`image_id`),
   KEY `FK168ye6q5v8mg708hdn449job0` (`image_id`),
   KEY `FKg6n70jvprgwldacejaug0eigv` (`user_id`),
   CONSTRAINT `FK168ye6q5v8mg708hdn449job0` FOREIGN KEY (`image_id`) REFERENCES `images` (`id`),
@@ -450,6 +455,13 @@ INSERT INTO `user_save_images` (`id`, `image_id`, `user_id`) VALUES
 	(5, 358, 4),
 	(6, 383, 5);
 
+-- images.save_count 초기값 (user_save_images 기준)
+UPDATE `images` i SET i.`save_count` = (SELECT COUNT(*) FROM `user_save_images` s WHERE s.`image_id` = i.`id`);
+
+-- images.s3_key_hash 초기값 (SHA-256(s3key))
+UPDATE `images` SET `s3_key_hash` = UNHEX(SHA2(CONVERT(`s3key` USING utf8mb4), 256));
+ALTER TABLE `images` MODIFY COLUMN `s3_key_hash` binary(32) NOT NULL;
+
 /*!40103 SET TIME_ZONE=IFNULL(@OLD_TIME_ZONE, 'system') */;
 /*!40101 SET SQL_MODE=IFNULL(@OLD_SQL_MODE, '') */;
 /*!40014 SET FOREIGN_KEY_CHECKS=IFNULL(@OLD_FOREIGN_KEY_CHECKS, 1) */;
@@ -0,0 +1,7 @@
+-- images.save_count 컬럼 추가 (즐겨찾기 저장 수 비정규화)
+ALTER TABLE `images`
+  ADD COLUMN `save_count` bigint(20) NOT NULL DEFAULT 0;
+
+-- 기존 user_save_images 기준으로 초기값 채우기
+UPDATE `images` i
+SET i.`save_count` = (SELECT COUNT(*) FROM `user_save_images` s WHERE s.`image_id` = i.`id`);
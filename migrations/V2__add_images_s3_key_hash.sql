@@ -0,0 +1,15 @@
+-- images.s3_key_hash 컬럼 추가 (s3key LONGTEXT 대신 고정 길이 유니크 인덱스로 조회)
+ALTER TABLE `images`
+  ADD COLUMN `s3_key_hash` binary(32) DEFAULT NULL AFTER `s3key`;
+
+-- 기존 행 채우기 (애플리케이션의 SHA-256(UTF-8 s3Key)과 같은 값)
+UPDATE `images`
+SET `s3_key_hash` = UNHEX(SHA2(CONVERT(`s3key` USING utf8mb4), 256))
+WHERE `s3_key_hash` IS NULL;
+
+-- 중복 키가 있으면 아래 ALTER가 실패하므로 먼저 확인 (결과가 없어야 함)
+-- SELECT HEX(`s3_key_hash`), COUNT(*) FROM `images` GROUP BY `s3_key_hash` HAVING COUNT(*) > 1;
+
+ALTER TABLE `images`
+  MODIFY COLUMN `s3_key_hash` binary(32) NOT NULL,
+  ADD UNIQUE KEY `uk_images_s3_key_hash` (`s3_key_hash`);
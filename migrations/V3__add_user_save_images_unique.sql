@@ -0,0 +1,12 @@
+-- user_save_images (user_id, image_id) 유니크 인덱스 추가 (즐겨찾기 중복 저장 방지)
+
+-- 연속 클릭 등으로 생긴 중복 행 정리 (가장 먼저 저장된 행만 유지)
+DELETE s FROM `user_save_images` s
+JOIN `user_save_images` d ON d.`user_id` = s.`user_id` AND d.`image_id` = s.`image_id` AND d.`id` < s.`id`;
+
+ALTER TABLE `user_save_images`
+  ADD UNIQUE KEY `uk_user_save_images_user_image` (`user_id`, `image_id`);
+
+-- 중복 행 삭제로 어긋난 저장 수 보정
+UPDATE `images` i
+SET i.`save_count` = (SELECT COUNT(*) FROM `user_save_images` s WHERE s.`image_id` = i.`id`);
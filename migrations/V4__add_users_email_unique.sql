@@ -0,0 +1,24 @@
+-- users.email 유니크 인덱스 추가 (로그인 사용자 id 조회 인덱스, 동시 최초 로그인 시 중복 가입 방지)
+
+-- 중복 가입된 사용자의 즐겨찾기를 가장 먼저 생성된 사용자로 옮김
+INSERT IGNORE INTO `user_save_images` (`user_id`, `image_id`)
+SELECT k.`keep_id`, s.`image_id`
+FROM `user_save_images` s
+JOIN `users` u ON u.`id` = s.`user_id`
+JOIN (SELECT `email`, MIN(`id`) AS `keep_id` FROM `users` GROUP BY `email`) k ON k.`email` = u.`email`
+WHERE u.`id` <> k.`keep_id`;
+
+-- 중복 사용자와 그 즐겨찾기 삭제
+DELETE s FROM `user_save_images` s
+JOIN `users` u ON u.`id` = s.`user_id`
+JOIN `users` k ON k.`email` = u.`email` AND k.`id` < u.`id`;
+
+DELETE u FROM `users` u
+JOIN `users` k ON k.`email` = u.`email` AND k.`id` < u.`id`;
+
+ALTER TABLE `users`
+  ADD UNIQUE KEY `uk_users_email` (`email`);
+
+-- 옮긴 즐겨찾기 기준으로 저장 수 보정
+UPDATE `images` i
+SET i.`save_count` = (SELECT COUNT(*) FROM `user_save_images` s WHERE s.`image_id` = i.`id`);